@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Время от запуска JVM до первого успешного ответа API (time-to-first-request) для сборки
+# ./mvnw -Pfast-startup package. Варианты накопительные:
+#   baseline — исходный fat jar;
+#   lazy     — плюс профиль fast-startup (ленивые бины springdoc);
+#   aot      — плюс распакованный jar и код, сгенерированный Spring AOT;
+#   cds      — плюс архив CDS из тренировочного запуска.
+#
+#   scripts/startup-time.sh [прогонов на вариант, по умолчанию 5]
+#
+# Каждый запуск идёт с пустой in-memory базой; печатаются медиана, минимум и максимум в миллисекундах.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR_NAME=${JAR_NAME:-RestBookShelf-1.0-SNAPSHOT.jar}
+FAT_JAR=$ROOT/target/$JAR_NAME
+STARTUP_DIR=$ROOT/target/startup
+URL="http://localhost:$PORT/api/v1/books?limit=1"
+
+if [[ ! -f $FAT_JAR || ! -f $STARTUP_DIR/application.jsa ]]; then
+  echo "Нет $FAT_JAR или $STARTUP_DIR/application.jsa — сначала ./mvnw -Pfast-startup package" >&2
+  exit 1
+fi
+
+APP_ARGS=(--server.port="$PORT" --spring.datasource.url=jdbc:h2:mem:startup)
+PROFILE=--spring.profiles.active=fast-startup
+
+jvm_args_for() {
+  case $1 in
+    baseline) JVM_ARGS=(-jar "$FAT_JAR") ;;
+    lazy)     JVM_ARGS=(-jar "$FAT_JAR" "$PROFILE") ;;
+    aot)      JVM_ARGS=(-Dspring.aot.enabled=true -jar "$STARTUP_DIR/$JAR_NAME" "$PROFILE") ;;
+    cds)      JVM_ARGS=(-XX:SharedArchiveFile="$STARTUP_DIR/application.jsa" -Dspring.aot.enabled=true
+                        -jar "$STARTUP_DIR/$JAR_NAME" "$PROFILE") ;;
+  esac
+}
+
+pid=
+trap '[[ -n $pid ]] && kill "$pid" 2>/dev/null || true' EXIT
+
+# время до первого ответа в ELAPSED, мс
+measure() {
+  local start
+  jvm_args_for "$1"
+  start=$(date +%s%N)
+  "$JAVA" "${JVM_ARGS[@]}" "${APP_ARGS[@]}" >/dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "вариант $1: приложение завершилось до первого ответа" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  ELAPSED=$(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  pid=
+}
+
+printf '%-10s %10s %10s %10s\n' "вариант" "медиана" "мин" "макс"
+for variant in baseline lazy aot cds; do
+  times=()
+  for ((i = 0; i < RUNS; i++)); do
+    measure "$variant"
+    times+=("$ELAPSED")
+  done
+  mapfile -t sorted < <(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-10s %10s %10s %10s\n' "$variant" "${sorted[RUNS / 2]}" "${sorted[0]}" "${sorted[RUNS - 1]}"
+done
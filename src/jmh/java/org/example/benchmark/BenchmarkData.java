@@ -0,0 +1,65 @@
+package org.example.benchmark;
+
+import org.example.dto.request.AuthorRequest;
+import org.example.dto.request.BookRequest;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.BookResponse;
+import org.example.entity.Author;
+import org.example.entity.Book;
+
+/**
+ * Фиксированные данные для бенчмарков: одинаковые между запусками, чтобы результаты были сравнимы.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Author author(long id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setVersion(0L);
+        author.setName("Author " + id);
+        author.setBirthYear(1900 + (int) (id % 100));
+        return author;
+    }
+
+    static Book book(long id, Author author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setVersion(0L);
+        book.setTitle("Title " + id);
+        book.setAuthor(author);
+        book.setPublishedYear(1950 + (int) (id % 70));
+        book.setGenre("Genre " + id % 12);
+        return book;
+    }
+
+    static AuthorResponse authorResponse(long id) {
+        return new AuthorResponse(id, "Author " + id, 1900 + (int) (id % 100), null);
+    }
+
+    static BookResponse bookResponse(long id) {
+        return new BookResponse(id, "Title " + id, authorResponse(id % 50), 1950 + (int) (id % 70), "Genre " + id % 12);
+    }
+
+    static AuthorRequest authorRequest(long id) {
+        return new AuthorRequest("Author " + toLetters(id), 1900 + (int) (id % 100));
+    }
+
+    static BookRequest bookRequest(long id, long authorId) {
+        return new BookRequest("Title " + id, authorId, 1950 + (int) (id % 70), "Genre " + id % 12);
+    }
+
+    /**
+     * Имя автора не может содержать цифр, поэтому номер записывается буквами.
+     */
+    static String toLetters(long value) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return sb.reverse().toString();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.benchmark;
+
+import org.example.dto.mapper.AuthorMapper;
+import org.example.dto.mapper.AuthorMapperImpl;
+import org.example.dto.mapper.BookMapper;
+import org.example.dto.mapper.BookMapperImpl;
+import org.example.dto.request.BookRequest;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.BookResponse;
+import org.example.entity.Author;
+import org.example.entity.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final AuthorMapper authorMapper = new AuthorMapperImpl();
+
+    private Author author;
+    private Book book;
+    private BookRequest bookRequest;
+
+    @Setup
+    public void setUp() {
+        author = BenchmarkData.author(1);
+        book = BenchmarkData.book(1, author);
+        bookRequest = BenchmarkData.bookRequest(1, 1);
+    }
+
+    @Benchmark
+    public BookResponse bookEntityToResponse() {
+        return bookMapper.entityToResponse(book);
+    }
+
+    @Benchmark
+    public Book bookRequestToEntity() {
+        return bookMapper.requestToEntity(bookRequest);
+    }
+
+    @Benchmark
+    public AuthorResponse authorEntityToResponse() {
+        return authorMapper.entityToResponse(author);
+    }
+}
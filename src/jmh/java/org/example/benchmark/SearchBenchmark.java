@@ -0,0 +1,63 @@
+package org.example.benchmark;
+
+import org.example.search.BookDocument;
+import org.example.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу на миллион книг. Слова в названиях берутся из небольшого словаря,
+ * поэтому частые запросы дают десятки тысяч совпадений.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+            "war", "peace", "night", "river", "garden", "storm", "city", "silver", "winter", "shadow",
+            "queen", "island", "letter", "glass", "road", "fire", "sea", "house", "dream", "stone"
+    };
+    private static final String[] GENRES = {"Novel", "Poetry", "Drama", "Fantasy", "Science", "History"};
+
+    @Param({"1000000"})
+    public int books;
+
+    @Param({"war", "silver winter", "\"night river\"", "sha*"})
+    public String query;
+
+    private BookSearchIndex index;
+    private final PageRequest firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = new BookSearchIndex();
+        Random random = new Random(42);
+        index.rebuild(sink -> {
+            for (int i = 0; i < books; i++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + i;
+                sink.accept(new BookDocument(i, title, GENRES[random.nextInt(GENRES.length)],
+                        "Author " + BenchmarkData.toLetters(random.nextInt(50_000))));
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public Page<Long> firstPage() {
+        return index.search(query, firstPage);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.BookResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    /**
+     * Представление ответа: JSON по умолчанию или бинарное по {@code Accept}, см. {@code BinaryFormatsConfig}.
+     */
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private BookResponse book;
+    private byte[] bookBytes;
+    private Page<AuthorResponse> authors;
+    private byte[] authorsBytes;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        book = BenchmarkData.bookResponse(1);
+        bookBytes = objectMapper.writeValueAsBytes(book);
+        List<AuthorResponse> content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(BenchmarkData::authorResponse)
+                .toList();
+        authors = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        authorsBytes = objectMapper.writeValueAsBytes(authors);
+        // размер тела ответа попадает в вывод JMH рядом со временем
+        System.out.printf("%n%s payload: book=%d bytes, page of %d authors=%d bytes%n",
+                format, bookBytes.length, pageSize, authorsBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeBook() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public BookResponse deserializeBook() throws IOException {
+        return objectMapper.readValue(bookBytes, BookResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeAuthorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    @Benchmark
+    public JsonNode deserializeAuthorPage() throws IOException {
+        return objectMapper.readTree(authorsBytes);
+    }
+}
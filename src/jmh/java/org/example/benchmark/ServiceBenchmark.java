@@ -0,0 +1,97 @@
+package org.example.benchmark;
+
+import org.example.Main;
+import org.example.dto.request.AuthorRequest;
+import org.example.dto.request.BookRequest;
+import org.example.dto.response.AuthorImportItemResponse;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.pagination.CursorPage;
+import org.example.entity.Author;
+import org.example.entity.Book;
+import org.example.repository.BookFilter;
+import org.example.repository.BookSort;
+import org.example.service.AuthorService;
+import org.example.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Горячие пути сервисного слоя на in-memory H2 без HTTP. Кэш ответов отключён,
+ * чтобы каждый вызов доходил до базы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int AUTHORS = 100;
+    private static final int BOOKS = 2_000;
+
+    @Param({"20", "100"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private AuthorService authorService;
+    private long minBookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+        bookService = context.getBean(BookService.class);
+        authorService = context.getBean(AuthorService.class);
+
+        List<AuthorRequest> authors = LongStream.range(0, AUTHORS)
+                .mapToObj(BenchmarkData::authorRequest)
+                .toList();
+        List<Long> authorIds = authorService.importAuthors(authors).items().stream()
+                .map(AuthorImportItemResponse::id)
+                .toList();
+        List<BookRequest> books = LongStream.range(0, BOOKS)
+                .mapToObj(i -> BenchmarkData.bookRequest(i, authorIds.get((int) (i % AUTHORS))))
+                .toList();
+        for (int from = 0; from < BOOKS; from += 500) {
+            bookService.createBatch(books.subList(from, Math.min(from + 500, BOOKS)));
+        }
+        minBookId = bookService.getSlice(null, BookSort.ID, BookFilter.NONE, 1).content().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookResponse getBookById() {
+        return bookService.getResponseById(minBookId + ThreadLocalRandom.current().nextInt(BOOKS)).body();
+    }
+
+    @Benchmark
+    public CursorPage<Book> getFirstSliceByTitle() {
+        return bookService.getSlice(null, BookSort.TITLE, BookFilter.NONE, limit);
+    }
+
+    @Benchmark
+    public Page<Author> getAuthorPage() {
+        return authorService.getPage(PageRequest.of(ThreadLocalRandom.current().nextInt(AUTHORS / limit), limit));
+    }
+}
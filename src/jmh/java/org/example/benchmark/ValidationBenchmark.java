@@ -0,0 +1,63 @@
+package org.example.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.example.dto.request.AuthorRequest;
+import org.example.dto.request.BookRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private BookRequest validBook;
+    private BookRequest invalidBook;
+    private AuthorRequest validAuthor;
+    private AuthorRequest invalidAuthor;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        validBook = BenchmarkData.bookRequest(1, 1);
+        invalidBook = new BookRequest("", null, null, " ");
+        validAuthor = BenchmarkData.authorRequest(1);
+        invalidAuthor = new AuthorRequest("R2", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookRequest>> validBookRequest() {
+        return validator.validate(validBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookRequest>> invalidBookRequest() {
+        return validator.validate(invalidBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AuthorRequest>> validAuthorRequest() {
+        return validator.validate(validAuthor);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AuthorRequest>> invalidAuthorRequest() {
+        return validator.validate(invalidAuthor);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Начальные данные прогона. Заливаются через те же публичные эндпоинты импорта и пакетного создания,
+ * поэтому одинаковый seed даёт одинаковый каталог.
+ */
+record Dataset(List<Long> authorIds, List<Long> bookIds, String cursor) {
+
+    private static final int CHUNK = 1000;
+    private static final String[] GENRES = {
+            "Novel", "Poetry", "Drama", "Fantasy", "Science", "History", "Detective", "Biography"
+    };
+
+    static Dataset seed(HttpClient client, URI base, ObjectMapper mapper, LoadOptions options)
+            throws IOException, InterruptedException {
+        Random random = new Random(options.seed());
+
+        List<Map<String, Object>> authors = new ArrayList<>();
+        for (int i = 0; i < options.authors(); i++) {
+            authors.add(Map.of("name", "Seed " + letters(i), "birthYear", 1800 + random.nextInt(200)));
+        }
+        List<Long> authorIds = new ArrayList<>();
+        for (int from = 0; from < authors.size(); from += CHUNK) {
+            JsonNode response = post(client, base.resolve("/api/v1/authors/import"), mapper,
+                    authors.subList(from, Math.min(from + CHUNK, authors.size())));
+            response.get("items").forEach(item -> authorIds.add(item.get("id").asLong()));
+        }
+
+        List<Map<String, Object>> books = new ArrayList<>();
+        for (int i = 0; i < options.books(); i++) {
+            books.add(Map.of(
+                    "title", "Seed book " + i,
+                    "authorId", authorIds.get(random.nextInt(authorIds.size())),
+                    "publishedYear", 1900 + random.nextInt(125),
+                    "genre", genre(random)));
+        }
+        List<Long> bookIds = new ArrayList<>();
+        for (int from = 0; from < books.size(); from += CHUNK) {
+            JsonNode response = post(client, base.resolve("/api/v1/books/batch"), mapper,
+                    books.subList(from, Math.min(from + CHUNK, books.size())));
+            response.get("items").forEach(item -> bookIds.add(item.get("book").get("id").asLong()));
+        }
+
+        JsonNode slice = get(client, base.resolve("/api/v1/books?limit=20"), mapper);
+        return new Dataset(authorIds, bookIds, slice.path("nextCursor").asText(""));
+    }
+
+    static String genre(Random random) {
+        return GENRES[random.nextInt(GENRES.length)];
+    }
+
+    /**
+     * Имя автора не может содержать цифр, поэтому номер записывается буквами.
+     */
+    static String letters(long value) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return sb.reverse().toString();
+    }
+
+    private static JsonNode post(HttpClient client, URI uri, ObjectMapper mapper, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        return send(client, request, mapper);
+    }
+
+    private static JsonNode get(HttpClient client, URI uri, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(uri).GET().build(), mapper);
+    }
+
+    private static JsonNode send(HttpClient client, HttpRequest request, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed: " + request.method() + " " + request.uri()
+                    + " -> " + response.statusCode() + " " + new String(response.body()));
+        }
+        return mapper.readTree(response.body());
+    }
+}
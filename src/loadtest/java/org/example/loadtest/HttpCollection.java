@@ -0,0 +1,75 @@
+package org.example.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Разбор .http-коллекций в формате HTTP Client IntelliJ IDEA: запросы разделены строками {@code ###},
+ * после разделителя идёт название, затем строка запроса (допускается перенос query-параметров
+ * на строки с отступом), заголовки и тело после пустой строки.
+ */
+final class HttpCollection {
+
+    private HttpCollection() {
+    }
+
+    static List<RequestTemplate> parse(Path file) throws IOException {
+        List<RequestTemplate> requests = new ArrayList<>();
+        List<String> block = new ArrayList<>();
+        String name = null;
+        for (String line : Files.readAllLines(file)) {
+            if (line.startsWith("###")) {
+                addRequest(requests, name, block);
+                name = line.replaceFirst("^#+", "").trim();
+                block.clear();
+            } else {
+                block.add(line);
+            }
+        }
+        addRequest(requests, name, block);
+        return requests;
+    }
+
+    private static void addRequest(List<RequestTemplate> requests, String name, List<String> lines) {
+        int i = 0;
+        while (i < lines.size() && isSkipped(lines.get(i))) {
+            i++;
+        }
+        if (i == lines.size()) {
+            return;
+        }
+        String[] requestLine = lines.get(i++).trim().split("\\s+");
+        StringBuilder url = new StringBuilder(requestLine[1]);
+        while (i < lines.size() && !lines.get(i).isBlank() && Character.isWhitespace(lines.get(i).charAt(0))) {
+            url.append(lines.get(i++).trim());
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        while (i < lines.size() && !lines.get(i).isBlank()) {
+            String header = lines.get(i++);
+            int colon = header.indexOf(':');
+            if (colon > 0) {
+                headers.put(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+            }
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (; i < lines.size(); i++) {
+            if (!lines.get(i).startsWith("> ")) {
+                body.append(lines.get(i)).append('\n');
+            }
+        }
+        String content = body.toString().strip();
+        requests.add(new RequestTemplate(name != null ? name : requestLine[0] + " " + url,
+                requestLine[0], url.toString(), headers, content.isEmpty() ? null : content));
+    }
+
+    private static boolean isSkipped(String line) {
+        return line.isBlank() || line.startsWith("#") || line.startsWith("//");
+    }
+}
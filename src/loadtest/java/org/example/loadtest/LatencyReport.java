@@ -0,0 +1,62 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек по эндпоинтам. Задержки пишутся в микросекундах, ошибкой считается
+ * любой ответ кроме 2xx и 304, а также сбой соединения.
+ */
+final class LatencyReport {
+
+    private static final String TOTAL = "TOTAL";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String name, long latencyNanos, boolean ok) {
+        long micros = Math.max(1, latencyNanos / 1_000);
+        for (String key : new String[]{name, TOTAL}) {
+            Endpoint endpoint = endpoints.computeIfAbsent(key, k -> new Endpoint());
+            endpoint.histogram.recordValue(micros);
+            if (!ok) {
+                endpoint.errors.increment();
+            }
+        }
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+        Endpoint total = sorted.remove(TOTAL);
+        sorted.forEach((name, endpoint) -> printRow(out, name, endpoint, seconds));
+        if (total != null) {
+            printRow(out, TOTAL, total, seconds);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Endpoint endpoint, double seconds) {
+        Histogram h = endpoint.histogram;
+        out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), endpoint.errors.sum(), h.getTotalCount() / seconds,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(95)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static final class Endpoint {
+        final Histogram histogram = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры прогона, передаются аргументами вида {@code --key=value}.
+ *
+ * @param model       модель нагрузки: {@code closed} — фиксированное число клиентов, каждый ждёт ответа
+ *                    перед следующим запросом; {@code open} — запросы приходят с фиксированной частотой
+ *                    независимо от ответов
+ * @param concurrency число клиентов в закрытой модели
+ * @param rate        запросов в секунду в открытой модели
+ * @param threads     на каких потоках встроенное приложение обрабатывает запросы
+ * @param target      адрес уже запущенного приложения; если не задан, приложение поднимается
+ *                    на случайном порту с in-memory H2
+ * @param mix         веса запросов по их названиям в .http-коллекциях
+ */
+record LoadOptions(
+        Model model,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        int authors,
+        int books,
+        String env,
+        List<Path> collections,
+        Threads threads,
+        URI target,
+        Map<String, Integer> mix
+) {
+
+    enum Model { CLOSED, OPEN }
+
+    /**
+     * {@code compare} прогоняет одну и ту же нагрузку сначала на платформенных, затем на виртуальных потоках.
+     */
+    enum Threads {
+        PLATFORM(false), VIRTUAL(true), COMPARE(false, true);
+
+        private final boolean[] virtual;
+
+        Threads(boolean... virtual) {
+            this.virtual = virtual;
+        }
+
+        boolean[] virtual() {
+            return virtual.clone();
+        }
+    }
+
+    /**
+     * Только чтение и точечные записи: удаление и выгрузка каталога искажают остальные замеры,
+     * их стоит гонять отдельно через {@code --mix}.
+     */
+    static final String DEFAULT_MIX = "Get book by id=40,Get slice of books=20,Get next slice of books=10,"
+            + "Get author by id=15,Get authors pagination=5,Create Book=5,Update book data=5";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadOptions(
+                Model.valueOf(values.getOrDefault("model", "closed").toUpperCase()),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("authors", "100")),
+                Integer.parseInt(values.getOrDefault("books", "5000")),
+                values.getOrDefault("env", "dev"),
+                Arrays.stream(values.getOrDefault("collections", "books-endpoints.http,authors-endpoints.http")
+                        .split(",")).map(String::trim).map(Path::of).toList(),
+                Threads.valueOf(values.getOrDefault("threads", "platform").toUpperCase()),
+                values.containsKey("target") ? URI.create(values.get("target")) : null,
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX))
+        );
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            weights.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return weights;
+    }
+}
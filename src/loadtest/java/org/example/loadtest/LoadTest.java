@@ -0,0 +1,192 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Main;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный прогон: воспроизводит запросы из .http-коллекций в заданной пропорции и печатает
+ * пропускную способность и перцентили задержек по каждому эндпоинту.
+ * <p>
+ * В закрытой модели задержка считается от фактической отправки, поэтому при замедлении сервера
+ * клиенты сами сбавляют темп и хвосты занижаются (coordinated omission). В открытой модели
+ * задержка считается от запланированного момента отправки, и очередь на стороне клиента
+ * попадает в замер.
+ */
+public final class LoadTest {
+
+    private final LoadOptions options;
+    private final HttpClient client;
+
+    private LoadTest(LoadOptions options, HttpClient client) {
+        this.options = options;
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            if (options.target() != null) {
+                new LoadTest(options, client).run(options.target());
+                return;
+            }
+            for (boolean virtual : options.threads().virtual()) {
+                System.out.printf("%n== Server on %s threads ==%n", virtual ? "virtual" : "platform");
+                try (ConfigurableApplicationContext context = start(virtual)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    new LoadTest(options, client).run(URI.create("http://localhost:" + port));
+                }
+            }
+        }
+    }
+
+    /**
+     * Поднимает приложение на случайном порту с отдельной in-memory базой на каждый прогон.
+     */
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(Main.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private void run(URI base) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<RequestTemplate> collection = new ArrayList<>();
+        for (Path path : options.collections()) {
+            collection.addAll(HttpCollection.parse(path));
+        }
+
+        System.out.printf("Seeding %d authors and %d books into %s (seed %d)%n",
+                options.authors(), options.books(), base, options.seed());
+        Dataset dataset = Dataset.seed(client, base, mapper, options);
+        Scenario scenario = new Scenario(base, environment(mapper), dataset, collection, options.mix());
+
+        System.out.printf("Warmup %ds, measurement %ds, %s%n", options.warmup().toSeconds(),
+                options.duration().toSeconds(), options.model() == LoadOptions.Model.OPEN
+                        ? "open model, " + options.rate() + " req/s"
+                        : "closed model, " + options.concurrency() + " clients");
+        runPhase(scenario, options.warmup(), new LatencyReport(), options.seed());
+        LatencyReport report = new LatencyReport();
+        long started = System.nanoTime();
+        runPhase(scenario, options.duration(), report, options.seed() + 1);
+        report.print(System.out, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void runPhase(Scenario scenario, Duration duration, LatencyReport report, long seed)
+            throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        if (options.model() == LoadOptions.Model.OPEN) {
+            runOpen(scenario, duration, report, new Random(seed));
+        } else {
+            runClosed(scenario, duration, report, seed);
+        }
+    }
+
+    private void runClosed(Scenario scenario, Duration duration, LatencyReport report, long seed)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>();
+        Thread.Builder builder = Thread.ofVirtual().name("load-client-", 0);
+        for (int i = 0; i < options.concurrency(); i++) {
+            Random random = new Random(seed * 31 + i);
+            Thread worker = builder.start(() -> {
+                while (System.nanoTime() < deadline) {
+                    RequestTemplate template = scenario.pick(random);
+                    HttpRequest request = scenario.render(template, random);
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = isOk(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                    } catch (IOException e) {
+                        ok = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    report.record(template.name(), System.nanoTime() - start, ok);
+                }
+            });
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runOpen(Scenario scenario, Duration duration, LatencyReport report, Random random)
+            throws InterruptedException {
+        long intervalNanos = (long) (1e9 / options.rate());
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long n = 0; ; n++) {
+            long intended = start + n * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestTemplate template = scenario.pick(random);
+            inFlight.add(client.sendAsync(scenario.render(template, random), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        report.record(template.name(), System.nanoTime() - intended,
+                                error == null && isOk(response.statusCode()));
+                        return null;
+                    }));
+            inFlight.removeIf(CompletableFuture::isDone);
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            System.err.println("Some requests did not complete: " + e);
+        }
+    }
+
+    private Map<String, String> environment(ObjectMapper mapper) throws IOException {
+        Map<String, String> env = new HashMap<>();
+        JsonNode node = mapper.readTree(Path.of("http-client.env.json").toFile()).path(options.env());
+        node.fields().forEachRemaining(field -> env.put(field.getKey(), field.getValue().asText()));
+        return env;
+    }
+
+    private static boolean isOk(int status) {
+        return status / 100 == 2 || status == 304;
+    }
+}
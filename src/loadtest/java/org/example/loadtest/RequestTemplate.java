@@ -0,0 +1,9 @@
+package org.example.loadtest;
+
+import java.util.Map;
+
+/**
+ * Запрос из .http-коллекции с неподставленными {@code {{переменными}}}.
+ */
+record RequestTemplate(String name, String method, String url, Map<String, String> headers, String body) {
+}
@@ -0,0 +1,108 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Взвешенная смесь запросов из .http-коллекций. Переменные берутся из http-client.env.json,
+ * а идентификаторы, курсор и уникальные названия — из залитого {@link Dataset}; из динамических
+ * переменных IDE поддерживается {@code {{$uuid}}}.
+ */
+final class Scenario {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*(\\$?\\w+)\\s*}}");
+
+    private final URI base;
+    private final Map<String, String> env;
+    private final Dataset dataset;
+    private final RequestTemplate[] templates;
+    private final int[] cumulativeWeights;
+    private final AtomicLong sequence = new AtomicLong();
+
+    Scenario(URI base, Map<String, String> env, Dataset dataset,
+             List<RequestTemplate> collection, Map<String, Integer> mix) {
+        this.base = base;
+        this.env = env;
+        this.dataset = dataset;
+        this.templates = new RequestTemplate[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        int i = 0;
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            templates[i] = collection.stream()
+                    .filter(t -> t.name().equals(entry.getKey()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No request named '" + entry.getKey()
+                            + "' in collections, available: " + collection.stream().map(RequestTemplate::name).toList()));
+            total += entry.getValue();
+            cumulativeWeights[i++] = total;
+        }
+    }
+
+    RequestTemplate pick(Random random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return templates[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    HttpRequest render(RequestTemplate template, Random random) {
+        Map<String, String> variables = variables(random);
+        URI uri = URI.create(substitute(template.url(), variables, true));
+        String pathAndQuery = uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(pathAndQuery));
+        template.headers().forEach((name, value) -> builder.header(name, substitute(value, variables, false)));
+        HttpRequest.BodyPublisher body = template.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(substitute(template.body(), variables, false));
+        return builder.method(template.method(), body).build();
+    }
+
+    private Map<String, String> variables(Random random) {
+        long n = sequence.incrementAndGet();
+        Map<String, String> variables = new HashMap<>(env);
+        variables.put("bookId", String.valueOf(dataset.bookIds().get(random.nextInt(dataset.bookIds().size()))));
+        variables.put("authorId", String.valueOf(dataset.authorIds().get(random.nextInt(dataset.authorIds().size()))));
+        variables.put("bookTitle", "Load book " + n);
+        variables.put("authorName", "Load " + Dataset.letters(n));
+        variables.put("publishedYear", String.valueOf(1900 + random.nextInt(125)));
+        variables.put("authorBirth", String.valueOf(1800 + random.nextInt(200)));
+        variables.put("genre", Dataset.genre(random));
+        variables.put("cursor", dataset.cursor());
+        // динамическая переменная HTTP-клиента IDE: новый ключ идемпотентности на каждый запрос
+        variables.put("$uuid", UUID.randomUUID().toString());
+        // версия случайной книги заранее неизвестна, поэтому PATCH идёт с If-Match: * без сравнения версий
+        variables.put("bookETag", "*");
+        int size = Integer.parseInt(env.getOrDefault("size", "10"));
+        variables.put("page", String.valueOf(random.nextInt(Math.max(1, dataset.authorIds().size() / size))));
+        return variables;
+    }
+
+    private static String substitute(String text, Map<String, String> variables, boolean encode) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Unknown variable {{" + matcher.group(1) + "}}");
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(
+                    encode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} выполняется на {@code applicationTaskExecutor} из Spring Boot: пул платформенных потоков
+ * или, при {@code spring.threads.virtual.enabled=true}, новый виртуальный поток на задачу.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
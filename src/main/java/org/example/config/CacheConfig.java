@@ -0,0 +1,18 @@
+package org.example.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Кэш ответов по id. Размер и TTL задаются в {@code spring.cache.caffeine.spec}.
+ * <p>
+ * Кэширующий advice стоит снаружи транзакционного, поэтому {@code @CacheEvict} срабатывает уже после коммита
+ * и не даёт параллельному чтению вернуть в кэш незакоммиченное состояние.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+}
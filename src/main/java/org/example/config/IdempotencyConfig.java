@@ -0,0 +1,57 @@
+package org.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.idempotency.IdempotencyFilter;
+import org.example.idempotency.IdempotencyStore;
+import org.example.idempotency.InMemoryIdempotencyStore;
+import org.example.idempotency.JdbcIdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Повторы {@code POST} с {@code Idempotency-Key}. Хранилище выбирается {@code bookshelf.idempotency.store}:
+ * {@code memory} (по умолчанию) или {@code jdbc} — таблица в той же базе.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "bookshelf.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${bookshelf.idempotency.ttl}") Duration ttl,
+            @Value("${bookshelf.idempotency.maximum-size}") long maximumSize
+    ) {
+        return new InMemoryIdempotencyStore(ttl, maximumSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bookshelf.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${bookshelf.idempotency.ttl}") Duration ttl,
+            @Value("${bookshelf.idempotency.maximum-size}") long maximumSize
+    ) {
+        return new JdbcIdempotencyStore(jdbcTemplate, ttl, maximumSize);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            @Value("${bookshelf.idempotency.max-body-size}") DataSize maxBodySize
+    ) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, objectMapper, Math.toIntExact(maxBodySize.toBytes())));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
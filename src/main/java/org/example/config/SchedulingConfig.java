@@ -0,0 +1,12 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Периодические задачи, например сверка {@link org.example.service.CatalogStatistics} с таблицей книг.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
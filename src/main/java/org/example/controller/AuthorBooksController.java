@@ -0,0 +1,70 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.example.dto.mapper.BookMapper;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.pagination.CursorBookResponse;
+import org.example.dto.response.pagination.CursorPage;
+import org.example.entity.Book;
+import org.example.repository.BookSort;
+import org.example.service.BookService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(
+        name = "Author",
+        description = "Api для управления авторами"
+)
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/authors/{authorId}/books")
+@Validated
+public class AuthorBooksController {
+    private static final int MAX_LIMIT = 100;
+
+    private final BookService bookService;
+    private final BookMapper bookMapper;
+
+    public AuthorBooksController(BookService bookService, BookMapper bookMapper) {
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+    }
+
+    @Operation(
+            summary = "Получить книги автора",
+            description = "Возвращает порцию книг автора с keyset-пагинацией. "
+                    + "Для следующей порции передайте nextCursor из ответа в параметре after",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Порция книг",
+                            content = @Content(schema = @Schema(implementation = CursorBookResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или параметры запроса",
+                            content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Автор не найден", content = @Content)
+            }
+    )
+    @GetMapping
+    public ResponseEntity<CursorPage<BookResponse>> getBooksOfAuthor(
+            @Parameter(description = "Идентификатор автора", required = true, example = "1")
+            @PathVariable Long authorId,
+            @Parameter(description = "Курсор из поля nextCursor предыдущего ответа")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Размер порции", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_LIMIT) int limit,
+            @Parameter(description = "Ключ сортировки: id, title или year", example = "year")
+            @RequestParam(required = false) String sort
+    ) {
+        BookSort order = sort == null ? null : BookSort.fromParam(sort);
+        CursorPage<Book> entities = bookService.getSliceByAuthor(authorId, after, order, limit);
+        CursorPage<BookResponse> dtos = entities.map(bookMapper::entityToResponse);
+        return ResponseEntity.ok(dtos);
+    }
+}
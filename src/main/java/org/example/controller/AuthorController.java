@@ -8,29 +8,46 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.example.dto.mapper.AuthorMapper;
 import org.example.dto.request.AuthorRequest;
+import org.example.dto.response.AuthorImportResponse;
 import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.MultiGetAuthorResponse;
+import org.example.dto.response.MultiGetResponse;
 import org.example.dto.response.pagination.PageAuthorResponse;
+import org.example.dto.response.pagination.SliceAuthorResponse;
+import org.example.dto.response.pagination.SlicePage;
 import org.example.entity.Author;
+import org.example.repository.AuthorVersion;
 import org.example.service.AuthorService;
+import org.example.service.Versioned;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @Tag(
         name = "Author",
         description = "Api для управления авторами"
 )
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/authors")
 @Validated
 public class AuthorController {
+    private static final int MAX_IMPORT_SIZE = 1000;
+    private static final int MAX_IDS = 100;
 
     private final AuthorService authorService;
     private final AuthorMapper authorMapper;
@@ -68,15 +85,42 @@ public class AuthorController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @Operation(
+            summary = "Импортировать авторов",
+            description = "Создает или обновляет до " + MAX_IMPORT_SIZE + " авторов, сопоставляя их по имени. "
+                    + "Для каждой строки возвращается идентификатор автора",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Импорт выполнен",
+                            content = @Content(schema = @Schema(implementation = AuthorImportResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком большой пакет",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/import")
+    public ResponseEntity<AuthorImportResponse> importAuthors(
+            @RequestBody @NotEmpty @Size(max = MAX_IMPORT_SIZE) List<@NotNull AuthorRequest> requests
+    ) {
+        AuthorImportResponse response = authorService.importAuthors(requests);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Получить список авторов",
-            description = "Возвращает страницу авторов с пагинацией",
+            description = "Возвращает страницу авторов с пагинацией. Ответ содержит ETag; "
+                    + "при совпадении If-None-Match возвращается 304 без тела",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Данные авторов получены",
                             content = @Content(schema = @Schema(implementation = PageAuthorResponse.class))
                     ),
+                    @ApiResponse(responseCode = "304", description = "Страница не изменилась", content = @Content),
                     @ApiResponse(
                             responseCode = "400",
                             description = "Неверные данные запроса",
@@ -89,29 +133,109 @@ public class AuthorController {
             @Parameter(description = "Номер страницы начинается с 1", required = true, example = "1")
             @RequestParam @Min(1) int page,
             @Parameter(description = "Размер страницы", required = true, example = "10")
-            @RequestParam @Min(1) int size
+            @RequestParam @Min(1) int size,
+            WebRequest request
     ) {
         Page<Author> entities = authorService.getPage(PageRequest.of(page - 1, size));
+        String etag = ETags.forAccept(
+                ETags.of(entities.getContent(), String.valueOf(entities.getTotalElements())), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Page<AuthorResponse> dtos = entities.map(authorMapper::entityToResponse);
+        return ResponseEntity.ok().eTag(etag).body(dtos);
+    }
+
+    @Operation(
+            summary = "Получить порцию авторов без подсчёта",
+            description = "Как постраничный список, но без COUNT(*) по всей таблице: вместо totalElements "
+                    + "возвращаются hasNext и приблизительное общее число approximateTotal. "
+                    + "Поддерживает ETag и If-None-Match, как постраничный список",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Данные авторов получены",
+                            content = @Content(schema = @Schema(implementation = SliceAuthorResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "304", description = "Порция не изменилась", content = @Content),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Неверные данные запроса",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(params = "mode=slice")
+    public ResponseEntity<SlicePage<AuthorResponse>> getSliceOfAuthors(
+            @Parameter(description = "Номер страницы начинается с 1", required = true, example = "1")
+            @RequestParam @Min(1) int page,
+            @Parameter(description = "Размер страницы", required = true, example = "10")
+            @RequestParam @Min(1) int size,
+            WebRequest request
+    ) {
+        SlicePage<Author> entities = authorService.getSlice(PageRequest.of(page - 1, size));
+        String etag = ETags.forAccept(
+                ETags.of(entities.content(), entities.approximateTotal() + "/" + entities.hasNext()), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        SlicePage<AuthorResponse> dtos = entities.map(authorMapper::entityToResponse);
+        return ResponseEntity.ok().eTag(etag).body(dtos);
+    }
+
+    @Operation(
+            summary = "Получить авторов по списку ID",
+            description = "Возвращает до " + MAX_IDS + " авторов одним запросом в порядке переданных ID. "
+                    + "Ненайденные ID перечисляются в missing, ответ при этом остаётся 200",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Авторы получены",
+                            content = @Content(schema = @Schema(implementation = MultiGetAuthorResponse.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком длинный список ID",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<AuthorResponse>> getAuthorsByIds(
+            @Parameter(description = "ID авторов через запятую", required = true, example = "1,2,3")
+            @RequestParam @NotEmpty @Size(max = MAX_IDS) List<@NotNull Long> ids
+    ) {
+        MultiGetResponse<Author> entities = authorService.getByIds(ids);
+        MultiGetResponse<AuthorResponse> dtos = entities.map(authorMapper::entityToResponse);
         return ResponseEntity.ok(dtos);
     }
 
     @Operation(
             summary = "Получить автора по ID",
-            description = "Возвращает данные автора по его идентификатору",
+            description = "Возвращает данные автора по его идентификатору. Ответ содержит ETag; "
+                    + "при совпадении If-None-Match возвращается 304 без тела",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Автор найден",
                             content = @Content(schema = @Schema(implementation = AuthorResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Автор не изменился", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Автор не найден", content = @Content)
             }
     )
     @GetMapping("/{id}")
     public ResponseEntity<AuthorResponse> getAuthorById(
             @Parameter(description = "Идентификатор книги", required = true, example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) {
-        Author entity = authorService.getById(id);
-        AuthorResponse dto = authorMapper.entityToResponse(entity);
-        return ResponseEntity.ok(dto);
+        AuthorVersion current = authorService.getVersion(id);
+        String etag = ETags.forAccept(ETags.of(current), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Versioned<AuthorResponse, AuthorVersion> response = authorService.getResponseById(id);
+        if (!response.version().equals(current)) {
+            response = authorService.reloadResponseById(id);
+        }
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response.body());
     }
 }
@@ -1,5 +1,6 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -8,17 +9,49 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.example.dto.mapper.BookMapper;
+import org.example.dto.request.BookPatchRequest;
 import org.example.dto.request.BookRequest;
 import org.example.dto.request.BookUpdateRequest;
+import org.example.dto.response.BookBatchResponse;
+import org.example.dto.response.BookDeleteResponse;
 import org.example.dto.response.BookResponse;
+import org.example.dto.response.MultiGetBookResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.CursorBookResponse;
+import org.example.dto.response.pagination.CursorPage;
+import org.example.dto.response.pagination.PageBookResponse;
 import org.example.entity.Book;
+import org.example.exception.BookNotFoundException;
+import org.example.exception.PreconditionRequiredException;
+import org.example.repository.BookFilter;
+import org.example.repository.BookSort;
+import org.example.repository.BookVersion;
 import org.example.service.BookService;
+import org.example.service.Versioned;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 
@@ -27,15 +60,25 @@ import java.util.List;
         description = "API для управления книгами"
 )
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/books")
 @Validated
 public class BookController {
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_BATCH_SIZE = 1000;
+    /**
+     * Поиск листает индекс до нужной страницы, поэтому её номер ограничен.
+     */
+    private static final int MAX_SEARCH_PAGE = 500;
+
     private final BookService bookService;
     private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
 
-    public BookController(BookService bookService, BookMapper bookMapper) {
+    public BookController(BookService bookService, BookMapper bookMapper, ObjectMapper objectMapper) {
         this.bookService = bookService;
         this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(
@@ -64,38 +107,175 @@ public class BookController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @Operation(
+            summary = "Создать книги пакетом",
+            description = "Создает до " + MAX_BATCH_SIZE + " книг за один запрос. Книги с ошибками пропускаются, "
+                    + "результат по каждой книге возвращается в том же порядке",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Пакет обработан",
+                            content = @Content(schema = @Schema(implementation = BookBatchResponse.class))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком большой пакет",
+                            content = @Content)
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<BookBatchResponse> createBooks(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull BookRequest> requests
+    ) {
+        BookBatchResponse response = bookService.createBatch(requests);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Получить список книг",
-            description = "Возвращает список книг",
+            description = "Возвращает порцию книг с keyset-пагинацией и необязательными фильтрами. "
+                    + "Для следующей порции передайте nextCursor из ответа в параметре after и те же фильтры",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Порция книг",
+                            content = @Content(schema = @Schema(implementation = CursorBookResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Неверный курсор или параметры запроса",
+                            content = @Content)
+            }
+    )
+    @GetMapping(params = "!ids")
+    public ResponseEntity<CursorPage<BookResponse>> getSliceOfBooks(
+            @Parameter(description = "Курсор из поля nextCursor предыдущего ответа")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Размер порции", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_LIMIT) int limit,
+            @Parameter(description = "Ключ сортировки: id, title или year", example = "id")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Жанр, точное совпадение", example = "Unknown")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Год выпуска не раньше, включительно", example = "1900")
+            @RequestParam(required = false) Integer yearFrom,
+            @Parameter(description = "Год выпуска не позже, включительно", example = "2000")
+            @RequestParam(required = false) Integer yearTo,
+            @Parameter(description = "ID автора", example = "1")
+            @RequestParam(required = false) Long authorId
+    ) {
+        BookSort order = sort == null ? null : BookSort.fromParam(sort);
+        BookFilter filter = new BookFilter(genre, yearFrom, yearTo, authorId);
+        CursorPage<Book> entities = bookService.getSlice(after, order, filter, limit);
+        CursorPage<BookResponse> dtos = entities.map(bookMapper::entityToResponse);
+        return ResponseEntity.ok(dtos);
+    }
+
+    @Operation(
+            summary = "Получить книги по списку ID",
+            description = "Возвращает до " + MAX_LIMIT + " книг с авторами одним запросом в порядке переданных ID. "
+                    + "Ненайденные ID перечисляются в missing, ответ при этом остаётся 200",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Книги получены",
+                            content = @Content(schema = @Schema(implementation = MultiGetBookResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Пустой или слишком длинный список ID", content = @Content)
+            }
+    )
+    @GetMapping(params = {"ids", "!unpaged"})
+    public ResponseEntity<MultiGetResponse<BookResponse>> getBooksByIds(
+            @Parameter(description = "ID книг через запятую", required = true, example = "1,2,3")
+            @RequestParam @NotEmpty @Size(max = MAX_LIMIT) List<@NotNull Long> ids
+    ) {
+        MultiGetResponse<Book> entities = bookService.getByIds(ids);
+        MultiGetResponse<BookResponse> dtos = entities.map(bookMapper::entityToResponse);
+        return ResponseEntity.ok(dtos);
+    }
+
+    @Operation(
+            summary = "Получить полный список книг",
+            description = "Возвращает все книги одним списком. Оставлено для совместимости, "
+                    + "включается только явным параметром unpaged=true",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Список книг",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = BookResponse.class))))
             }
     )
-    @GetMapping
+    // ids вместе с unpaged не подходит ни одному методу и получает 400
+    @GetMapping(params = {"unpaged=true", "!ids"})
     public ResponseEntity<List<BookResponse>> getListOfBooks() {
         List<Book> entities = bookService.getList();
         List<BookResponse> dtos = entities.stream().map(bookMapper::entityToResponse).toList();
         return ResponseEntity.ok(dtos);
     }
 
+    @Operation(
+            summary = "Найти книги",
+            description = "Полнотекстовый поиск по названию, жанру и имени автора. Слова объединяются по И, "
+                    + "поддерживаются \"фразы\", префиксы слово* и исключение -слово. "
+                    + "Результаты упорядочены по релевантности",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Страница найденных книг",
+                            content = @Content(schema = @Schema(implementation = PageBookResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Неверные параметры запроса",
+                            content = @Content)
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<Page<BookResponse>> searchBooks(
+            @Parameter(description = "Поисковый запрос", required = true, example = "толстой война")
+            @RequestParam @NotBlank String q,
+            @Parameter(description = "Номер страницы начинается с 1, не больше " + MAX_SEARCH_PAGE, example = "1")
+            @RequestParam(defaultValue = "1") @Min(1) @Max(MAX_SEARCH_PAGE) int page,
+            @Parameter(description = "Размер страницы", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_LIMIT) int size
+    ) {
+        Page<Book> entities = bookService.search(q, PageRequest.of(page - 1, size));
+        Page<BookResponse> dtos = entities.map(bookMapper::entityToResponse);
+        return ResponseEntity.ok(dtos);
+    }
+
+    @Operation(
+            summary = "Выгрузить каталог",
+            description = "Потоково выгружает все книги в формате NDJSON: одна книга в строке",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток книг",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = BookResponse.class)))
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = out -> bookService.exportAll(
+                book -> writeLine(out, bookMapper.entityToResponse(book))
+        );
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(
             summary = "Получить книгу по ID",
-            description = "Возвращает книгу по её идентификатору",
+            description = "Возвращает книгу по её идентификатору. Ответ содержит ETag; "
+                    + "при совпадении If-None-Match возвращается 304 без тела",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Книга найдена",
                             content = @Content(schema = @Schema(implementation = BookResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Книга не изменилась", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Книга не найдена", content = @Content)
             }
     )
     @GetMapping("/{id}")
     public ResponseEntity<BookResponse> getBookById(
             @Parameter(description = "Идентификатор книги", required = true, example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) {
-        Book entity = bookService.getById(id);
-        BookResponse dto = bookMapper.entityToResponse(entity);
-        return ResponseEntity.ok(dto);
+        BookVersion current = bookService.getVersion(id);
+        String etag = ETags.forAccept(ETags.of(current), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Versioned<BookResponse, BookVersion> response = bookService.getResponseById(id);
+        if (!response.version().equals(current)) {
+            response = bookService.reloadResponseById(id);
+        }
+        return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response.body());
     }
 
     @Operation(
@@ -121,7 +301,46 @@ public class BookController {
     ) {
         Book entity = bookService.update(id, request);
         BookResponse dto = bookMapper.entityToResponse(entity);
-        return ResponseEntity.ok(dto);
+        String etag = ETags.of(BookVersion.of(entity));
+        return ResponseEntity.ok().eTag(etag).body(dto);
+    }
+
+    @Operation(
+            summary = "Частично обновить книгу",
+            description = "Меняет только переданные поля одним UPDATE с проверкой версии. "
+                    + "If-Match обязателен и сравнивается по версии книги из ETag; If-Match: * обновляет без проверки",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Книга успешно обновлена",
+                            content = @Content(schema = @Schema(implementation = BookResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Неверные данные запроса", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Книга или автор не найдены", content = @Content),
+                    @ApiResponse(responseCode = "409", description = "Название уже занято", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "Книга изменилась после получения ETag",
+                            content = @Content),
+                    @ApiResponse(responseCode = "428", description = "Нет заголовка If-Match", content = @Content)
+            }
+    )
+    @PatchMapping("/{id}")
+    public ResponseEntity<BookResponse> patchBook(
+            @Parameter(description = "Идентификатор книги", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag книги из GET или предыдущего изменения", example = "\"3.1\"")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Изменяемые поля книги",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = BookPatchRequest.class))
+            )
+            @RequestBody @Valid BookPatchRequest request
+    ) {
+        if (ifMatch == null) {
+            throw new PreconditionRequiredException("If-Match header with the book ETag is required");
+        }
+        Long version = ETags.ANY.equals(ifMatch.trim()) ? null : ETags.bookVersion(ifMatch);
+        Book entity = bookService.patch(id, version, request);
+        BookResponse dto = bookMapper.entityToResponse(entity);
+        String etag = ETags.of(BookVersion.of(entity));
+        return ResponseEntity.ok().eTag(etag).body(dto);
     }
 
     @Operation(
@@ -137,7 +356,44 @@ public class BookController {
             @Parameter(description = "Идентификатор книги", required = true, example = "1")
             @PathVariable Long id
     ) {
-        bookService.deleteById(id);
+        if (!bookService.deleteById(id)) {
+            throw new BookNotFoundException(id);
+        }
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+            summary = "Удалить книги по списку или фильтру",
+            description = "Удаляет книги, подходящие под все переданные условия, одной командой DELETE "
+                    + "и возвращает их число. Нужно хотя бы одно условие",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Число удалённых книг",
+                            content = @Content(schema = @Schema(implementation = BookDeleteResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Не передано ни одного условия", content = @Content)
+            }
+    )
+    @DeleteMapping
+    public ResponseEntity<BookDeleteResponse> deleteBooks(
+            @Parameter(description = "Идентификаторы книг, до " + MAX_BATCH_SIZE, example = "1,2,3")
+            @RequestParam(required = false) @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> ids,
+            @Parameter(description = "Удалить книги автора", example = "1")
+            @RequestParam(required = false) Long authorId,
+            @Parameter(description = "Удалить книги жанра", example = "Роман")
+            @RequestParam(required = false) String genre
+    ) {
+        if (ids == null && authorId == null && genre == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One of ids, authorId or genre is required");
+        }
+        int deleted = bookService.deleteMatching(ids, authorId, genre);
+        return ResponseEntity.ok(new BookDeleteResponse(deleted));
+    }
+
+    private void writeLine(OutputStream out, BookResponse dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
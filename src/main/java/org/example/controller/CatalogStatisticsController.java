@@ -0,0 +1,43 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.dto.response.CatalogStatisticsResponse;
+import org.example.service.CatalogStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "Books",
+        description = "API для управления книгами"
+)
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/books/statistics")
+public class CatalogStatisticsController {
+    private final CatalogStatistics statistics;
+
+    public CatalogStatisticsController(CatalogStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Operation(
+            summary = "Статистика каталога",
+            description = "Число книг всего, по жанрам и по годам выпуска. Счётчики обновляются после каждого "
+                    + "изменения книг и периодически сверяются с базой, поэтому ответ не требует подсчёта по таблице",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Статистика получена",
+                            content = @Content(schema = @Schema(implementation = CatalogStatisticsResponse.class)))
+            }
+    )
+    @GetMapping
+    public ResponseEntity<CatalogStatisticsResponse> getStatistics() {
+        return ResponseEntity.ok(statistics.get());
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.controller;
+
+import org.example.entity.Author;
+import org.example.repository.AuthorVersion;
+import org.example.repository.BookVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сильные ETag, построенные из {@code @Version} сущностей.
+ */
+final class ETags {
+    static final String ANY = "*";
+
+    /**
+     * Версия, которой не бывает у книг: на неё заменяется ETag, выданный не этим API.
+     */
+    private static final long NO_VERSION = -1;
+
+    /**
+     * Форматы ответа в порядке конвертеров; у JSON ETag без пометки.
+     */
+    private static final Map<MediaType, String> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put(MediaType.APPLICATION_JSON, null);
+        FORMATS.put(MediaType.APPLICATION_CBOR, "cbor");
+        FORMATS.put(MediaType.valueOf("application/x-jackson-smile"), "smile");
+    }
+
+    private ETags() {
+    }
+
+    static String of(BookVersion version) {
+        return "\"" + version.book() + "." + version.author() + "\"";
+    }
+
+    /**
+     * ETag автора: версия и агрегаты по книгам, которые меняются без смены версии.
+     */
+    static String of(AuthorVersion version) {
+        return "\"" + tag(version) + "\"";
+    }
+
+    private static String tag(AuthorVersion version) {
+        String tag = version.version() + "." + version.bookCount();
+        return version.bookCount() == 0 ? tag
+                : tag + "." + version.firstPublishedYear() + "-" + version.lastPublishedYear();
+    }
+
+    /**
+     * ETag списка авторов: id, версии и агрегаты в порядке выдачи плюс сведения о списке в целом ({@code summary}:
+     * общее число, признак следующей страницы). Строится по уже прочитанным авторам, из которых собирается тело.
+     */
+    static String of(List<Author> authors, String summary) {
+        StringBuilder tag = new StringBuilder(summary);
+        for (Author author : authors) {
+            tag.append(';').append(author.getId()).append(':').append(tag(AuthorVersion.of(author)));
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(tag.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * ETag того же состояния в другом формате: к значению добавляется формат,
+     * чтобы JSON и бинарные представления не считались одним и тем же сильным ETag.
+     */
+    static String forFormat(String etag, String format) {
+        return etag.substring(0, etag.length() - 1) + "+" + format + "\"";
+    }
+
+    /**
+     * ETag представления, которое получит запрос с таким {@code Accept}: формат выбирается так же, как при
+     * согласовании — первый по качеству и точности тип, совместимый с JSON, CBOR или Smile (в этом порядке).
+     * Нужен для условного {@code GET}, где решение о {@code 304} принимается до записи тела.
+     */
+    static String forAccept(String etag, WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return etag;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return etag;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Map.Entry<MediaType, String> format : FORMATS.entrySet()) {
+                if (type.isCompatibleWith(format.getKey())) {
+                    return format.getValue() == null ? etag : forFormat(etag, format.getValue());
+                }
+            }
+        }
+        return etag;
+    }
+
+    /**
+     * Версия книги из ETag, построенного {@link #of(BookVersion)}. Версия автора не проверяется:
+     * условное изменение касается только строки книги.
+     */
+    static long bookVersion(String etag) {
+        String value = etag.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return NO_VERSION;
+        }
+        String tag = value.substring(1, value.length() - 1);
+        int dot = tag.indexOf('.');
+        try {
+            return Long.parseLong(dot < 0 ? tag : tag.substring(0, dot));
+        } catch (NumberFormatException ex) {
+            return NO_VERSION;
+        }
+    }
+}
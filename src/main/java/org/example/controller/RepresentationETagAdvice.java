@@ -0,0 +1,43 @@
+package org.example.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Помечает ETag ответов в CBOR и Smile форматом: {@code "3.7"} становится {@code "3.7+cbor"}, так что
+ * разные кодировки одного состояния не делят сильный ETag. Формат берётся из фактически выбранного типа тела;
+ * условный {@code GET} сравнивает {@code If-None-Match} с тем же значением ({@link ETags#forAccept}).
+ * Версия книги для {@code If-Match} читается и из такого ETag ({@link ETags#bookVersion(String)}).
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RepresentationETagAdvice implements ResponseBodyAdvice<Object> {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String etag = response.getHeaders().getETag();
+        if (etag == null || etag.startsWith("W/")) {
+            return body;
+        }
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(selectedContentType)) {
+            response.getHeaders().setETag(ETags.forFormat(etag, "cbor"));
+        } else if (SMILE.isCompatibleWith(selectedContentType)) {
+            response.getHeaders().setETag(ETags.forFormat(etag, "smile"));
+        }
+        return body;
+    }
+}
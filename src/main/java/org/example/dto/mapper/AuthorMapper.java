@@ -2,12 +2,19 @@ package org.example.dto.mapper;
 
 import org.example.dto.request.AuthorRequest;
 import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.AuthorStatsResponse;
 import org.example.entity.Author;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface AuthorMapper {
     Author requestToEntity(AuthorRequest request);
 
+    @Mapping(target = "stats", source = "entity")
     AuthorResponse entityToResponse(Author entity);
+
+    default AuthorStatsResponse entityToStats(Author entity) {
+        return new AuthorStatsResponse(entity.getBookCount(), entity.getFirstPublishedYear(), entity.getLastPublishedYear());
+    }
 }
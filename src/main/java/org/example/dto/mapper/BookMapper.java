@@ -4,11 +4,17 @@ import org.example.dto.request.BookRequest;
 import org.example.dto.response.BookResponse;
 import org.example.entity.Book;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface BookMapper {
 
     Book requestToEntity(BookRequest request);
 
+    /**
+     * Агрегаты автора в ответ о книге не входят: иначе кэш книг пришлось бы сбрасывать
+     * при изменении любой другой книги того же автора.
+     */
+    @Mapping(target = "author.stats", ignore = true)
     BookResponse entityToResponse(Book book);
 }
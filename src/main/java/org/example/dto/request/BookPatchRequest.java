@@ -0,0 +1,24 @@
+package org.example.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Частичное обновление книги: отсутствующее или {@code null} поле не меняется.
+ */
+public record BookPatchRequest(
+        @Pattern(regexp = "(?s).*\\S.*", message = "Название книги не должно быть пустым")
+        @Size(message = "Слишком короткое название книги (мин. 3)", min = 3)
+        String title,
+        Long authorId,
+        Integer publishedYear,
+        @Pattern(regexp = "(?s).*\\S.*", message = "У книги должен быть жанр")
+        String genre
+) {
+    /**
+     * Меняется ли что-то, от чего зависят агрегаты автора и статистика каталога.
+     */
+    public boolean changesFacets() {
+        return authorId != null || publishedYear != null || genre != null;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.dto.response;
+
+/**
+ * Результат импорта одной строки.
+ *
+ * @param index   позиция строки во входном массиве
+ * @param code    {@code 201} для нового автора, {@code 200} для найденного по имени, иначе код ошибки
+ * @param id      идентификатор автора, с которым сопоставлена строка
+ * @param message причина отказа, если строка не импортирована
+ */
+public record AuthorImportItemResponse(
+        int index,
+        String code,
+        Long id,
+        String message
+) {
+}
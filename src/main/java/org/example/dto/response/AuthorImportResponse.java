@@ -0,0 +1,11 @@
+package org.example.dto.response;
+
+import java.util.List;
+
+public record AuthorImportResponse(
+        int created,
+        int matched,
+        int failed,
+        List<AuthorImportItemResponse> items
+) {
+}
@@ -1,9 +1,13 @@
 package org.example.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record AuthorResponse(
         Long id,
         String name,
-        Integer birthYear
+        Integer birthYear,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        AuthorStatsResponse stats
 ) {
 
 }
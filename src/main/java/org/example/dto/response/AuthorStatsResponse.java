@@ -0,0 +1,14 @@
+package org.example.dto.response;
+
+/**
+ * Агрегаты по книгам автора, хранящиеся в строке автора.
+ *
+ * @param firstPublishedYear год самой ранней книги или {@code null}, если книг нет
+ * @param lastPublishedYear  год самой поздней книги или {@code null}, если книг нет
+ */
+public record AuthorStatsResponse(
+        long bookCount,
+        Integer firstPublishedYear,
+        Integer lastPublishedYear
+) {
+}
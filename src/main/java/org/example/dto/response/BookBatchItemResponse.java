@@ -0,0 +1,17 @@
+package org.example.dto.response;
+
+/**
+ * Результат создания одной книги из пакета.
+ *
+ * @param index   позиция книги во входном массиве
+ * @param code    HTTP-статус, который получил бы одиночный запрос
+ * @param book    созданная книга, если создание прошло успешно
+ * @param message причина отказа, если книга не создана
+ */
+public record BookBatchItemResponse(
+        int index,
+        String code,
+        BookResponse book,
+        String message
+) {
+}
@@ -0,0 +1,10 @@
+package org.example.dto.response;
+
+import java.util.List;
+
+public record BookBatchResponse(
+        int created,
+        int failed,
+        List<BookBatchItemResponse> items
+) {
+}
@@ -0,0 +1,6 @@
+package org.example.dto.response;
+
+public record BookDeleteResponse(
+        int deleted
+) {
+}
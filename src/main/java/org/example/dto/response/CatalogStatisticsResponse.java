@@ -0,0 +1,14 @@
+package org.example.dto.response;
+
+import java.util.Map;
+
+/**
+ * @param byGenre число книг по жанрам, по алфавиту
+ * @param byYear  число книг по годам выпуска, по возрастанию
+ */
+public record CatalogStatisticsResponse(
+        long total,
+        Map<String, Long> byGenre,
+        Map<Integer, Long> byYear
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.dto.response;
+
+import java.util.List;
+
+public record MultiGetAuthorResponse(
+        List<AuthorResponse> content,
+        List<Long> missing
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.dto.response;
+
+import java.util.List;
+
+public record MultiGetBookResponse(
+        List<BookResponse> content,
+        List<Long> missing
+) {
+}
@@ -0,0 +1,39 @@
+package org.example.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Результат чтения нескольких записей по id за один запрос.
+ *
+ * @param content найденные записи в порядке запрошенных id, без повторов
+ * @param missing запрошенные id, для которых записей нет
+ */
+public record MultiGetResponse<T>(
+        List<T> content,
+        List<Long> missing
+) {
+    /**
+     * Раскладывает найденные записи в порядке {@code ids}; повторные id учитываются один раз.
+     */
+    public static <T> MultiGetResponse<T> of(List<Long> ids, Map<Long, T> found) {
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        ids.stream().distinct().forEach(id -> {
+            T item = found.get(id);
+            if (item != null) {
+                content.add(item);
+            } else {
+                missing.add(id);
+            }
+        });
+        return new MultiGetResponse<>(content, missing);
+    }
+
+    public <R> MultiGetResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new MultiGetResponse<>(mapped, missing);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.dto.response.pagination;
+
+import org.example.dto.response.BookResponse;
+
+import java.util.List;
+
+public record CursorBookResponse(
+        List<BookResponse> content,
+        boolean hasNext,
+        String nextCursor
+) {
+}
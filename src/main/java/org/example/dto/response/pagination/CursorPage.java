@@ -0,0 +1,18 @@
+package org.example.dto.response.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница keyset-выборки. Следующая страница запрашивается с {@code after = nextCursor}.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        boolean hasNext,
+        String nextCursor
+) {
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.dto.response.pagination;
+
+import org.example.dto.response.AuthorResponse;
+
+import java.util.List;
+
+public record SliceAuthorResponse(
+        List<AuthorResponse> content,
+        int page,
+        int size,
+        boolean hasNext,
+        long approximateTotal
+) {
+}
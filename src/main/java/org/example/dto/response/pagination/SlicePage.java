@@ -0,0 +1,24 @@
+package org.example.dto.response.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница без подсчёта общего числа строк: наличие следующей страницы определяется
+ * выборкой {@code size + 1} записей.
+ *
+ * @param page             номер страницы, начиная с 1
+ * @param approximateTotal приблизительное общее число записей, не требующее {@code COUNT(*)}
+ */
+public record SlicePage<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        long approximateTotal
+) {
+    public <R> SlicePage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new SlicePage<>(mapped, page, size, hasNext, approximateTotal);
+    }
+}
@@ -4,8 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
+/**
+ * Автор. Лежит во втором уровне кэша Hibernate (регион {@value #CACHE_REGION}): книги ссылаются на автора
+ * ленивой ссылкой, и её инициализация не идёт в базу, пока автор в кэше. Запись книги обновляет в регионе
+ * только затронутых авторов ({@link org.example.repository.AuthorRepository#refreshBookStats}).
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Author.CACHE_REGION)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,11 +24,35 @@ import lombok.NoArgsConstructor;
         columnNames = "name"
 ))
 public class Author {
+    public static final String CACHE_REGION = "author";
+    /**
+     * Регион кэша запросов для страниц авторов ({@code GET /api/v1/authors}).
+     */
+    public static final String PAGES_CACHE_REGION = "author-pages";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", sequenceName = "author_seq", allocationSize = 50)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @Column(name = "name")
     private String name;
     @Column(name = "birth_year")
     private Integer birthYear;
+    /**
+     * Агрегаты по книгам автора. Пересчитываются при каждом изменении его книг
+     * ({@link org.example.repository.AuthorRepository#refreshBookStats}), а не при чтении.
+     * Версию автора не меняют: она входит в ETag его книг, а агрегаты в представление книги не попадают.
+     */
+    @OptimisticLock(excluded = true)
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+    @OptimisticLock(excluded = true)
+    @Column(name = "first_published_year")
+    private Integer firstPublishedYear;
+    @OptimisticLock(excluded = true)
+    @Column(name = "last_published_year")
+    private Integer lastPublishedYear;
 }
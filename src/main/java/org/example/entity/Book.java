@@ -9,20 +9,41 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Book", uniqueConstraints = @UniqueConstraint(
-        name = "uk_book_title",
-        columnNames = "title"
-))
+@Table(name = "Book",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_book_title",
+                columnNames = "title"
+        ),
+        indexes = {
+                @Index(name = "idx_book_published_year", columnList = "published_year, id"),
+                @Index(name = "idx_book_author", columnList = "author_id, id"),
+                @Index(name = "idx_book_author_year", columnList = "author_id, published_year, id"),
+                @Index(name = "idx_book_genre", columnList = "genre_id, id"),
+                @Index(name = "idx_book_genre_year", columnList = "genre_id, published_year, id")
+        }
+)
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
+    @Version
+    @Column(name = "version")
+    private Long version;
     @Column(name = "title")
     private String title;
+    /**
+     * Ленивая ссылка; при инициализации автор сначала ищется во втором уровне кэша ({@link Author#CACHE_REGION}).
+     */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "author_id")
     private Author author;
     @Column(name = "published_year")
     private Integer publishedYear;
+    /**
+     * Название жанра; в таблице — ключ справочника {@link Genre}.
+     */
+    @Convert(converter = GenreConverter.class)
+    @Column(name = "genre_id")
     private String genre;
 }
@@ -0,0 +1,28 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Справочник жанров. Книга хранит только короткий ключ, название берётся из
+ * {@link org.example.service.GenreDictionary}. Ключ — {@code smallint}: жанры сверх 32767-го
+ * {@link org.example.repository.GenreRepository#insert(String)} отклоняет.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "Genre", uniqueConstraints = @UniqueConstraint(
+        name = "uk_genre_name",
+        columnNames = "name"
+))
+public class Genre {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "genre_seq")
+    @SequenceGenerator(name = "genre_seq", sequenceName = "genre_seq", allocationSize = 1)
+    private Short id;
+    @Column(name = "name", nullable = false)
+    private String name;
+}
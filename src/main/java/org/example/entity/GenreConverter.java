@@ -0,0 +1,30 @@
+package org.example.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.example.service.GenreDictionary;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Хранит жанр книги ключом из {@link Genre}, а в сущности оставляет название.
+ * Экземпляр создаёт Hibernate через контекст Spring ещё при построении {@code EntityManagerFactory},
+ * поэтому справочник, которому нужен репозиторий, берётся лениво.
+ */
+@Converter
+public class GenreConverter implements AttributeConverter<String, Short> {
+    private final ObjectProvider<GenreDictionary> dictionary;
+
+    public GenreConverter(ObjectProvider<GenreDictionary> dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String genre) {
+        return dictionary.getObject().idOf(genre);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return dictionary.getObject().nameOf(id);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.exception;
+
+import lombok.Getter;
+
+@Getter
+public class BookVersionMismatchException extends RuntimeException {
+    private final Long bookId;
+
+    public BookVersionMismatchException(Long bookId, long expectedVersion) {
+        super("Book with id=" + bookId + " is no longer at version " + expectedVersion);
+        this.bookId = bookId;
+    }
+}
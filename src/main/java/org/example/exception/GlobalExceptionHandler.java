@@ -1,9 +1,12 @@
 package org.example.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.response.error.RestErrorResponse;
 import org.example.dto.response.error.ValidationErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.FieldError;
@@ -20,6 +23,7 @@ import java.util.Optional;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(EntityNotFoundException.class)
@@ -28,6 +32,34 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<RestErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        RestErrorResponse error = new RestErrorResponse(HttpStatus.BAD_REQUEST.toString(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(BookVersionMismatchException.class)
+    public ResponseEntity<RestErrorResponse> handleBookVersionMismatchException(BookVersionMismatchException ex) {
+        RestErrorResponse error = new RestErrorResponse(HttpStatus.PRECONDITION_FAILED.toString(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<RestErrorResponse> handlePreconditionRequiredException(PreconditionRequiredException ex) {
+        RestErrorResponse error = new RestErrorResponse(HttpStatus.PRECONDITION_REQUIRED.toString(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(error);
+    }
+
+    /**
+     * Параллельное изменение той же строки между чтением и записью.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RestErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        RestErrorResponse error = new RestErrorResponse(HttpStatus.CONFLICT.toString(),
+                "Запись изменена параллельным запросом, повторите попытку");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @Override
     public ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -45,6 +77,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, status);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ValidationErrorResponse> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+        ValidationErrorResponse response = new ValidationErrorResponse(
+                HttpStatus.BAD_REQUEST.toString(), "Validation Error", errors
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<RestErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         Throwable cause = ex.getCause();
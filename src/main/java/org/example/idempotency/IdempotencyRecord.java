@@ -0,0 +1,14 @@
+package org.example.idempotency;
+
+/**
+ * Запись хранилища по ключу.
+ *
+ * @param fingerprint хэш метода, пути и тела запроса, с которым ключ использован впервые
+ * @param response    ответ или {@code null}, пока первый запрос выполняется
+ */
+public record IdempotencyRecord(String fingerprint, StoredResponse response) {
+
+    public boolean completed() {
+        return response != null;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Ответы на запросы с {@code Idempotency-Key}. Запись живёт не дольше заданного TTL,
+ * число записей ограничено.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Атомарно занимает ключ под выполнение запроса.
+     *
+     * @return пусто, если ключ свободен и теперь занят; иначе — существующая запись
+     */
+    Optional<IdempotencyRecord> reserve(String key, String fingerprint);
+
+    /**
+     * Сохраняет ответ для занятого ключа.
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Освобождает ключ, если запрос не удался: повтор выполнится заново.
+     */
+    void release(String key);
+}
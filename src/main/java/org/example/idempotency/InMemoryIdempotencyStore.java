@@ -0,0 +1,37 @@
+package org.example.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Хранилище в памяти процесса на Caffeine: при переполнении вытесняются редко используемые ключи,
+ * после перезапуска все ключи забываются.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(Duration ttl, long maximumSize) {
+        this.records = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, String fingerprint) {
+        return Optional.ofNullable(records.asMap().putIfAbsent(key, new IdempotencyRecord(fingerprint, null)));
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        records.asMap().computeIfPresent(key, (k, record) -> new IdempotencyRecord(record.fingerprint(), response));
+    }
+
+    @Override
+    public void release(String key) {
+        records.invalidate(key);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Хранилище в таблице {@code idempotency_key}: ключи переживают перезапуск и видны всем экземплярам,
+ * работающим с одной базой. Таблица создаётся при старте, если её нет, и не пересоздаётся вместе со схемой JPA.
+ * Ключ занимается вставкой строки, поэтому параллельные запросы с одним ключом упорядочивает первичный ключ.
+ * Устаревшие строки и строки сверх лимита удаляются по расписанию.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final RowMapper<IdempotencyRecord> RECORD = (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("fingerprint"),
+            rs.getObject("status") == null ? null : new StoredResponse(
+                    rs.getInt("status"),
+                    rs.getString("content_type"),
+                    rs.getString("location"),
+                    rs.getString("etag"),
+                    rs.getBytes("body")
+            )
+    );
+
+    private final JdbcTemplate jdbc;
+    private final Duration ttl;
+    private final long maximumSize;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbc, Duration ttl, long maximumSize) {
+        this.jdbc = jdbc;
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+        jdbc.execute("create table if not exists idempotency_key ("
+                + "idempotency_key varchar(255) primary key, "
+                + "fingerprint varchar(64) not null, "
+                + "created_at timestamp not null, "
+                + "status int, "
+                + "content_type varchar(255), "
+                + "location varchar(2048), "
+                + "etag varchar(255), "
+                + "body blob)");
+        jdbc.execute("create index if not exists idx_idempotency_key_created on idempotency_key (created_at)");
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, String fingerprint) {
+        Instant now = Instant.now();
+        try {
+            jdbc.update("insert into idempotency_key (idempotency_key, fingerprint, created_at) values (?, ?, ?)",
+                    key, fingerprint, Timestamp.from(now));
+            return Optional.empty();
+        } catch (DuplicateKeyException ex) {
+            List<IdempotencyRecord> found = jdbc.query(
+                    "select fingerprint, status, content_type, location, etag, body from idempotency_key "
+                            + "where idempotency_key = ? and created_at > ?",
+                    RECORD, key, Timestamp.from(now.minus(ttl)));
+            if (!found.isEmpty()) {
+                return Optional.of(found.get(0));
+            }
+            // строка устарела, но ещё не удалена по расписанию
+            jdbc.update("delete from idempotency_key where idempotency_key = ? and created_at <= ?",
+                    key, Timestamp.from(now.minus(ttl)));
+            return reserve(key, fingerprint);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbc.update("update idempotency_key set status = ?, content_type = ?, location = ?, etag = ?, body = ? "
+                        + "where idempotency_key = ?",
+                response.status(), response.contentType(), response.location(), response.etag(), response.body(), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbc.update("delete from idempotency_key where idempotency_key = ?", key);
+    }
+
+    @Scheduled(
+            initialDelayString = "${bookshelf.idempotency.purge-interval}",
+            fixedDelayString = "${bookshelf.idempotency.purge-interval}"
+    )
+    public void purge() {
+        jdbc.update("delete from idempotency_key where created_at <= ?", Timestamp.from(Instant.now().minus(ttl)));
+        jdbc.update("delete from idempotency_key where created_at < ("
+                + "select created_at from idempotency_key order by created_at desc limit 1 offset ?)", maximumSize - 1);
+    }
+}
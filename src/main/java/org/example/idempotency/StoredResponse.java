@@ -0,0 +1,9 @@
+package org.example.idempotency;
+
+/**
+ * Успешный ответ на первый запрос с ключом — всё, что нужно, чтобы повторить его без выполнения.
+ *
+ * @param location и {@code etag} — заголовки ответа или {@code null}
+ */
+public record StoredResponse(int status, String contentType, String location, String etag, byte[] body) {
+}
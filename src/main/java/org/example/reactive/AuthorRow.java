@@ -0,0 +1,34 @@
+package org.example.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.AuthorStatsResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Строка таблицы {@code author} для R2DBC. Схему создаёт JPA по {@link org.example.entity.Author}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("author")
+public class AuthorRow {
+    @Id
+    private Long id;
+    @Version
+    private Long version;
+    private String name;
+    private Integer birthYear;
+    private long bookCount;
+    private Integer firstPublishedYear;
+    private Integer lastPublishedYear;
+
+    public AuthorResponse toResponse() {
+        return new AuthorResponse(id, name, birthYear,
+                new AuthorStatsResponse(bookCount, firstPublishedYear, lastPublishedYear));
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AuthorRowRepository extends ReactiveCrudRepository<AuthorRow, Long> {
+
+    @Query("select * from author order by id limit :limit offset :offset")
+    Flux<AuthorRow> findPage(@Param("limit") int limit, @Param("offset") long offset);
+
+    /**
+     * То же, что {@link org.example.repository.AuthorRepository#refreshBookStats}, для одного автора.
+     */
+    @Modifying
+    @Query("update author set "
+            + "book_count = (select count(*) from book b where b.author_id = :id), "
+            + "first_published_year = (select min(b.published_year) from book b where b.author_id = :id), "
+            + "last_published_year = (select max(b.published_year) from book b where b.author_id = :id) "
+            + "where id = :id")
+    Mono<Integer> refreshBookStats(@Param("id") long id);
+
+    /**
+     * Очередное значение последовательности, которую JPA использует пулами по 50.
+     * Взятое здесь значение JPA уже не выдаст, так что id не пересекаются.
+     */
+    @Query("select next value for author_seq")
+    Mono<Long> nextId();
+}
@@ -0,0 +1,29 @@
+package org.example.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Строка таблицы {@code book} для R2DBC. Схему создаёт JPA по {@link org.example.entity.Book}.
+ * <p>
+ * Новой строкой считается строка без версии, поэтому id можно заполнить заранее из последовательности.
+ * Жанр хранится ключом {@link org.example.service.GenreDictionary}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("book")
+public class BookRow {
+    @Id
+    private Long id;
+    @Version
+    private Long version;
+    private String title;
+    private Long authorId;
+    private Integer publishedYear;
+    private Short genreId;
+}
@@ -0,0 +1,32 @@
+package org.example.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookRowRepository extends ReactiveCrudRepository<BookRow, Long> {
+    String SELECT_WITH_AUTHOR = "select b.id, b.title, b.published_year, g.name as genre, "
+            + "a.id as author_id, a.name as author_name, a.birth_year as author_birth_year "
+            + "from book b join author a on a.id = b.author_id "
+            + "left join genre g on g.id = b.genre_id ";
+
+    @Query(SELECT_WITH_AUTHOR + "where b.id > :afterId order by b.id limit :limit")
+    Flux<BookView> findSliceWithAuthor(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Весь каталог по порядку id. Строки читаются по мере запроса подписчиком.
+     */
+    @Query(SELECT_WITH_AUTHOR + "order by b.id")
+    Flux<BookView> findAllWithAuthor();
+
+    @Query(SELECT_WITH_AUTHOR + "where b.id = :id")
+    Mono<BookView> findWithAuthorById(@Param("id") long id);
+
+    /**
+     * См. {@link AuthorRowRepository#nextId()}.
+     */
+    @Query("select next value for book_seq")
+    Mono<Long> nextId();
+}
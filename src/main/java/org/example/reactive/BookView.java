@@ -0,0 +1,36 @@
+package org.example.reactive;
+
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.BookResponse;
+import org.example.search.BookDocument;
+import org.example.service.CatalogChangedEvent;
+
+/**
+ * Книга вместе с автором, прочитанная одним запросом с join.
+ */
+public record BookView(
+        Long id,
+        String title,
+        Integer publishedYear,
+        String genre,
+        Long authorId,
+        String authorName,
+        Integer authorBirthYear
+) {
+    public static BookView of(BookRow book, String genre, AuthorRow author) {
+        return new BookView(book.getId(), book.getTitle(), book.getPublishedYear(), genre,
+                author.getId(), author.getName(), author.getBirthYear());
+    }
+
+    public BookResponse toResponse() {
+        return new BookResponse(id, title, new AuthorResponse(authorId, authorName, authorBirthYear, null), publishedYear, genre);
+    }
+
+    public BookDocument toDocument() {
+        return new BookDocument(id, title, genre, authorName);
+    }
+
+    public CatalogChangedEvent.Facet toFacet() {
+        return new CatalogChangedEvent.Facet(genre, publishedYear);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.reactive;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.example.dto.request.AuthorRequest;
+import org.example.dto.response.AuthorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Авторы в профиле {@code reactive}.
+ */
+@RestController
+@RequestMapping("/api/v1/authors")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorController {
+    private final ReactiveAuthorService authorService;
+
+    public ReactiveAuthorController(ReactiveAuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<AuthorResponse>> createAuthor(@RequestBody @Valid AuthorRequest request,
+                                                             UriComponentsBuilder uriBuilder) {
+        return authorService.create(request)
+                .map(AuthorRow::toResponse)
+                .map(dto -> {
+                    URI uri = uriBuilder.path("/api/v1/authors/{id}").buildAndExpand(dto.id()).toUri();
+                    return ResponseEntity.created(uri).body(dto);
+                });
+    }
+
+    @GetMapping
+    public Flux<AuthorResponse> getPageOfAuthors(
+            @RequestParam @Min(1) int page,
+            @RequestParam @Min(1) @Max(100) int size
+    ) {
+        return authorService.getPage(PageRequest.of(page - 1, size)).map(AuthorRow::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<AuthorResponse> getAuthorById(@PathVariable Long id) {
+        return authorService.getById(id).map(AuthorRow::toResponse);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.reactive;
+
+import org.example.dto.request.AuthorRequest;
+import org.example.exception.AuthorNotFoundException;
+import org.example.service.AuthorsCreatedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий вариант {@link org.example.service.AuthorService} поверх R2DBC.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorService {
+    private final AuthorRowRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveAuthorService(AuthorRowRepository authorRepository, ApplicationEventPublisher eventPublisher) {
+        this.authorRepository = authorRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Mono<AuthorRow> create(AuthorRequest request) {
+        return authorRepository.nextId()
+                .map(id -> new AuthorRow(id, null, request.name(), request.birthYear(), 0, null, null))
+                .flatMap(authorRepository::save)
+                .doOnNext(author -> eventPublisher.publishEvent(new AuthorsCreatedEvent(1)));
+    }
+
+    public Flux<AuthorRow> getPage(Pageable pageable) {
+        return authorRepository.findPage(pageable.getPageSize(), pageable.getOffset());
+    }
+
+    public Mono<AuthorRow> getById(Long id) {
+        return authorRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new AuthorNotFoundException(id)));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.reactive;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.example.dto.request.BookRequest;
+import org.example.dto.request.BookUpdateRequest;
+import org.example.dto.response.BookResponse;
+import org.example.exception.BookNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Книги в профиле {@code reactive}. Списки отдаются как {@link Flux}: строки читаются из базы
+ * по мере того, как клиент успевает их забирать.
+ */
+@RestController
+@RequestMapping("/api/v1/books")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookController {
+    private static final int MAX_LIMIT = 100;
+
+    private final ReactiveBookService bookService;
+
+    public ReactiveBookController(ReactiveBookService bookService) {
+        this.bookService = bookService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<BookResponse>> createBook(@RequestBody @Valid BookRequest request,
+                                                         UriComponentsBuilder uriBuilder) {
+        return bookService.create(request)
+                .map(BookView::toResponse)
+                .map(dto -> {
+                    URI uri = uriBuilder.path("/api/v1/books/{id}").buildAndExpand(dto.id()).toUri();
+                    return ResponseEntity.created(uri).body(dto);
+                });
+    }
+
+    @GetMapping
+    public Flux<BookResponse> getSliceOfBooks(
+            @RequestParam(defaultValue = "0") @Min(0) long afterId,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        return bookService.getSlice(afterId, limit).map(BookView::toResponse);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponse> exportBooks() {
+        return bookService.exportAll().map(BookView::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<BookResponse> getBookById(@PathVariable Long id) {
+        return bookService.getById(id).map(BookView::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<BookResponse> updateBook(@PathVariable Long id, @RequestBody @Valid BookUpdateRequest request) {
+        return bookService.update(id, request).map(BookView::toResponse);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteBook(@PathVariable Long id) {
+        return bookService.deleteById(id)
+                .flatMap(deleted -> deleted
+                        ? Mono.just(ResponseEntity.noContent().<Void>build())
+                        : Mono.error(new BookNotFoundException(id)));
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.reactive;
+
+import org.example.dto.request.BookRequest;
+import org.example.dto.request.BookUpdateRequest;
+import org.example.exception.AuthorNotFoundException;
+import org.example.exception.BookNotFoundException;
+import org.example.search.BooksChangedEvent;
+import org.example.service.CatalogChangedEvent;
+import org.example.service.GenreDictionary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
+
+import java.util.List;
+
+/**
+ * Неблокирующий вариант {@link org.example.service.BookService} поверх R2DBC.
+ * <p>
+ * Запись книги и пересчёт агрегатов автора идут отдельными выражениями в автокоммите,
+ * событие для поискового индекса публикуется после них.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookService {
+    private final BookRowRepository bookRepository;
+    private final AuthorRowRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenreDictionary genres;
+
+    public ReactiveBookService(BookRowRepository bookRepository,
+                               AuthorRowRepository authorRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               GenreDictionary genres) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.eventPublisher = eventPublisher;
+        this.genres = genres;
+    }
+
+    public Mono<BookView> create(BookRequest request) {
+        return findAuthor(request.authorId())
+                .flatMap(author -> genreId(request.genre())
+                        .zipWith(bookRepository.nextId(), (genreId, id) -> new BookRow(id, null, request.title(),
+                                author.getId(), request.publishedYear(), genreId))
+                        .flatMap(bookRepository::save)
+                        .map(book -> BookView.of(book, genres.nameOf(book.getGenreId()), author)))
+                .flatMap(book -> authorRepository.refreshBookStats(book.authorId()).thenReturn(book))
+                .doOnNext(book -> {
+                    publishIndexed(book);
+                    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(book.toFacet()), List.of()));
+                });
+    }
+
+    /**
+     * Книги с id больше {@code afterId} по возрастанию id. Строки приходят по мере запроса подписчиком.
+     */
+    public Flux<BookView> getSlice(long afterId, int limit) {
+        return bookRepository.findSliceWithAuthor(afterId, limit);
+    }
+
+    public Flux<BookView> exportAll() {
+        return bookRepository.findAllWithAuthor();
+    }
+
+    public Mono<BookView> getById(Long id) {
+        return bookRepository.findWithAuthorById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(id)));
+    }
+
+    public Mono<BookView> update(Long id, BookUpdateRequest request) {
+        Mono<BookRow> book = bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(id)));
+        return book.zipWith(findAuthor(request.authorId()))
+                .zipWhen(pair -> genreId(request.genre()),
+                        (pair, genreId) -> Tuples.of(pair.getT1(), pair.getT2(), genreId))
+                .flatMap(tuple -> {
+                    BookRow row = tuple.getT1();
+                    long previousAuthorId = row.getAuthorId();
+                    CatalogChangedEvent.Facet before = facet(row);
+                    row.setTitle(request.title());
+                    row.setAuthorId(tuple.getT2().getId());
+                    row.setPublishedYear(request.publishedYear());
+                    row.setGenreId(tuple.getT3());
+                    return bookRepository.save(row)
+                            .flatMap(saved -> refreshBookStats(previousAuthorId, saved.getAuthorId())
+                                    .thenReturn(BookView.of(saved, genres.nameOf(saved.getGenreId()), tuple.getT2())))
+                            .doOnNext(view -> eventPublisher.publishEvent(
+                                    CatalogChangedEvent.changed(before, view.toFacet())));
+                })
+                .doOnNext(this::publishIndexed);
+    }
+
+    public Mono<Boolean> deleteById(Long id) {
+        return bookRepository.findById(id)
+                .flatMap(book -> bookRepository.delete(book)
+                        .then(authorRepository.refreshBookStats(book.getAuthorId()))
+                        .then(Mono.fromRunnable(() -> {
+                            eventPublisher.publishEvent(BooksChangedEvent.removed(id));
+                            eventPublisher.publishEvent(CatalogChangedEvent.removed(facet(book)));
+                        }))
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> refreshBookStats(long previousAuthorId, long authorId) {
+        Mono<Integer> current = authorRepository.refreshBookStats(authorId);
+        return previousAuthorId == authorId
+                ? current.then()
+                : authorRepository.refreshBookStats(previousAuthorId).then(current).then();
+    }
+
+    /**
+     * Новый жанр справочник записывает через JDBC, поэтому обращение к нему уходит с event loop.
+     */
+    private Mono<Short> genreId(String genre) {
+        return Mono.fromCallable(() -> genres.idOf(genre)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private CatalogChangedEvent.Facet facet(BookRow book) {
+        return new CatalogChangedEvent.Facet(genres.nameOf(book.getGenreId()), book.getPublishedYear());
+    }
+
+    private Mono<AuthorRow> findAuthor(Long authorId) {
+        return authorRepository.findById(authorId)
+                .switchIfEmpty(Mono.error(() -> new AuthorNotFoundException(authorId)));
+    }
+
+    private void publishIndexed(BookView book) {
+        eventPublisher.publishEvent(BooksChangedEvent.indexed(List.of(book.toDocument())));
+    }
+}
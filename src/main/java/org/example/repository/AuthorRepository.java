@@ -1,7 +1,48 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Author;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorRepositoryCustom {
+
+    List<Author> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Страница и её {@code COUNT(*)} берутся из кэша запросов; сами авторы — из второго уровня кэша.
+     * Любая запись в таблицу автора, в том числе пересчёт агрегатов, делает закэшированные страницы
+     * недействительными; сами авторы при этом остаются в кэше.
+     */
+    @Override
+    @QueryHints(value = {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Author.PAGES_CACHE_REGION)
+    }, forCounting = true)
+    Page<Author> findAll(Pageable pageable);
+
+    /**
+     * Страница без {@code COUNT(*)}: читается {@code size + 1} строк, чтобы узнать, есть ли следующая.
+     * Кэшируется так же, как {@link #findAll(Pageable)}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Author.PAGES_CACHE_REGION)
+    })
+    Slice<Author> findSliceBy(Pageable pageable);
+
+    @Query("select new org.example.repository.AuthorVersion("
+            + "a.version, a.bookCount, a.firstPublishedYear, a.lastPublishedYear) "
+            + "from Author a where a.id = :id")
+    Optional<AuthorVersion> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import java.util.Collection;
+
+public interface AuthorRepositoryCustom {
+
+    /**
+     * Пересчитывает число книг и годы первой и последней книги авторов. Строки авторов блокируются
+     * в порядке id, агрегаты читаются одним запросом по индексу {@code (author_id, published_year, id)},
+     * а записываются в сами сущности: {@code UPDATE} уходит при flush только для изменившихся авторов,
+     * и во втором уровне кэша обновляются только их записи — остальные авторы остаются в кэше.
+     * <p>
+     * Версия не меняется: ETag автора строится по {@link AuthorVersion} вместе с агрегатами,
+     * а ETag его книг от них не зависит.
+     *
+     * @return число найденных авторов
+     */
+    int refreshBookStats(Collection<Long> ids);
+}
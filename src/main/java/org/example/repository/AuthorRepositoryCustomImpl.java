@@ -0,0 +1,44 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.example.entity.Author;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int refreshBookStats(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Author> authors = entityManager.createQuery(
+                        "select a from Author a where a.id in :ids order by a.id", Author.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        Map<Long, Object[]> stats = entityManager.createQuery(
+                        "select b.author.id, count(b), min(b.publishedYear), max(b.publishedYear) "
+                                + "from Book b where b.author.id in :ids group by b.author.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+
+        for (Author author : authors) {
+            Object[] row = stats.get(author.getId());
+            author.setBookCount(row == null ? 0 : (Long) row[1]);
+            author.setFirstPublishedYear(row == null ? null : (Integer) row[2]);
+            author.setLastPublishedYear(row == null ? null : (Integer) row[3]);
+        }
+        return authors.size();
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.entity.Author;
+
+/**
+ * Версия автора и его агрегаты. Агрегаты пересчитываются при записи книг и в {@code @Version} не входят,
+ * чтобы не менять ETag книг автора, но входят в представление самого автора.
+ */
+public record AuthorVersion(long version, long bookCount, Integer firstPublishedYear, Integer lastPublishedYear) {
+
+    public static AuthorVersion of(Author author) {
+        return new AuthorVersion(author.getVersion(), author.getBookCount(),
+                author.getFirstPublishedYear(), author.getLastPublishedYear());
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.repository;
+
+import org.example.entity.Author;
+
+/**
+ * Новые значения полей книги для {@link BookRepositoryCustom#updateIfVersion}; {@code null} — поле не меняется.
+ */
+public record BookChanges(String title, Author author, Integer publishedYear, String genre) {
+}
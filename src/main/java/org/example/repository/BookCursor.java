@@ -0,0 +1,39 @@
+package org.example.repository;
+
+import org.example.entity.Book;
+import org.example.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция в keyset-выборке книг: ключ сортировки последней выданной книги и её id.
+ * Для клиента курсор непрозрачен и передаётся как base64url-строка.
+ */
+public record BookCursor(BookSort sort, Comparable<?> key, long id) {
+    private static final String SEPARATOR = ":";
+
+    public static BookCursor after(BookSort sort, Book book) {
+        return new BookCursor(sort, sort.parseKey(sort.keyOf(book)), book.getId());
+    }
+
+    public static BookCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Malformed cursor: " + value);
+            }
+            BookSort sort = BookSort.valueOf(parts[0]);
+            return new BookCursor(sort, sort.parseKey(parts[2]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String key = this.key == null ? "" : this.key.toString();
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.repository;
+
+/**
+ * Необязательные условия отбора книг; {@code null} в поле означает «без ограничения».
+ * Границы диапазона годов включительные.
+ */
+public record BookFilter(String genre, Integer yearFrom, Integer yearTo, Long authorId) {
+
+    public static final BookFilter NONE = new BookFilter(null, null, null, null);
+}
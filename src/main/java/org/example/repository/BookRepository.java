@@ -1,7 +1,63 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Book;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+    int EXPORT_FETCH_SIZE = 500;
+
+    @EntityGraph(attributePaths = "author")
+    @Query("select b from Book b")
+    List<Book> findAllWithAuthor();
+
+    @EntityGraph(attributePaths = "author")
+    Optional<Book> findWithAuthorById(Long id);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findAllWithAuthorByIdIn(Collection<Long> ids);
+
+    @Query("select new org.example.repository.BookVersion(b.version, a.version) "
+            + "from Book b join b.author a where b.id = :id")
+    Optional<BookVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new org.example.repository.BookState(b.author.id, b.genre, b.publishedYear) "
+            + "from Book b where b.id = :id")
+    Optional<BookState> findStateById(@Param("id") Long id);
+
+    @Query("select b.title from Book b where b.title in :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    /**
+     * Полный подсчёт по жанрам — только для периодической сверки {@link org.example.service.CatalogStatistics}.
+     */
+    @Query("select new org.example.repository.GenreCount(b.genre, count(b)) from Book b group by b.genre")
+    List<GenreCount> countByGenre();
+
+    /**
+     * Полный подсчёт по годам — только для периодической сверки {@link org.example.service.CatalogStatistics}.
+     */
+    @Query("select new org.example.repository.YearCount(b.publishedYear, count(b)) from Book b group by b.publishedYear")
+    List<YearCount> countByYear();
+
+    /**
+     * Курсор по всем книгам вместе с авторами. Поток должен быть закрыт и читаться внутри транзакции.
+     */
+    @Query("select b from Book b join fetch b.author order by b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllWithAuthor();
 }
@@ -0,0 +1,40 @@
+package org.example.repository;
+
+import org.example.entity.Book;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Возвращает не более {@code limit} книг, идущих в порядке {@code sort} строго после {@code after}.
+     * Выборка строится как диапазонное чтение по индексу, поэтому её стоимость не зависит от глубины.
+     * Автор подгружается тем же запросом.
+     *
+     * @param filter условия отбора, {@link BookFilter#NONE} — без них
+     * @param after  позиция последней прочитанной книги или {@code null} для первой страницы
+     */
+    List<Book> findNextSlice(BookSort sort, BookFilter filter, BookCursor after, int limit);
+
+    /**
+     * Меняет переданные поля книги одним {@code UPDATE ... WHERE id = ? AND version = ?} и увеличивает версию.
+     * Контекст персистентности не затрагивается.
+     *
+     * @param version ожидаемая версия или {@code null}, чтобы не проверять её
+     * @return 1, если книга обновлена, 0 — если её нет или версия уже другая
+     */
+    int updateIfVersion(Long id, Long version, BookChanges changes);
+
+    /**
+     * Удаляет книги, подходящие под все переданные условия, одним {@code DELETE} и возвращает удалённые строки
+     * из той же команды ({@code OLD TABLE} в H2), так что число удалённых и их прежние значения известны
+     * без предварительного чтения. Контекст персистентности не затрагивается.
+     * Хотя бы одно условие обязательно.
+     *
+     * @param ids      id книг или {@code null}
+     * @param authorId автор или {@code null}
+     * @param genreId  ключ жанра или {@code null}
+     */
+    List<DeletedBook> deleteReturning(Collection<Long> ids, Long authorId, Short genreId);
+}
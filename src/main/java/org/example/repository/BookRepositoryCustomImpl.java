@@ -0,0 +1,144 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import org.example.entity.Author;
+import org.example.entity.Book;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Book> findNextSlice(BookSort sort, BookFilter filter, BookCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        book.fetch("author", JoinType.INNER);
+
+        List<Predicate> where = matching(cb, book, filter);
+        if (after != null) {
+            where.add(after(cb, book, sort, after));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        if (sort.attribute() == null) {
+            query.orderBy(cb.asc(book.get("id")));
+        } else {
+            query.orderBy(cb.asc(book.get(sort.attribute())), cb.asc(book.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int updateIfVersion(Long id, Long version, BookChanges changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> book = update.from(Book.class);
+
+        if (changes.title() != null) {
+            update.set(book.<String>get("title"), changes.title());
+        }
+        if (changes.author() != null) {
+            update.set(book.<Author>get("author"), changes.author());
+        }
+        if (changes.publishedYear() != null) {
+            update.set(book.<Integer>get("publishedYear"), changes.publishedYear());
+        }
+        if (changes.genre() != null) {
+            update.set(book.<String>get("genre"), changes.genre());
+        }
+        Path<Long> currentVersion = book.get("version");
+        update.set(currentVersion, cb.sum(currentVersion, 1L));
+
+        Predicate byId = cb.equal(book.get("id"), id);
+        update.where(version == null ? byId : cb.and(byId, cb.equal(currentVersion, version)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DeletedBook> deleteReturning(Collection<Long> ids, Long authorId, Short genreId) {
+        List<String> conditions = new ArrayList<>();
+        if (ids != null) {
+            conditions.add("id in (:ids)");
+        }
+        if (authorId != null) {
+            conditions.add("author_id = :authorId");
+        }
+        if (genreId != null) {
+            conditions.add("genre_id = :genreId");
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one delete condition is required");
+        }
+
+        Query delete = entityManager.createNativeQuery(
+                "select id, author_id, genre_id, published_year from old table ("
+                        + "delete from book where " + String.join(" and ", conditions) + ")");
+        if (ids != null) {
+            delete.setParameter("ids", ids);
+        }
+        if (authorId != null) {
+            delete.setParameter("authorId", authorId);
+        }
+        if (genreId != null) {
+            delete.setParameter("genreId", genreId);
+        }
+        return ((List<Object[]>) delete.getResultList()).stream()
+                .map(row -> new DeletedBook(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue(),
+                        row[2] == null ? null : ((Number) row[2]).shortValue(),
+                        row[3] == null ? null : ((Number) row[3]).intValue()))
+                .toList();
+    }
+
+    /**
+     * Условия фильтра. Равенства стоят первыми колонками составных индексов {@link Book},
+     * так что отбор и порядок читаются одним диапазоном.
+     */
+    private List<Predicate> matching(CriteriaBuilder cb, Root<Book> book, BookFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.genre() != null) {
+            predicates.add(cb.equal(book.get("genre"), filter.genre()));
+        }
+        if (filter.authorId() != null) {
+            predicates.add(cb.equal(book.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.yearFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(book.get("publishedYear"), filter.yearFrom()));
+        }
+        if (filter.yearTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(book.get("publishedYear"), filter.yearTo()));
+        }
+        return predicates;
+    }
+
+    /**
+     * {@code (key, id) > (:key, :id)}, развёрнутое в форму, которую оптимизатор превращает в диапазон по индексу.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Root<Book> book, BookSort sort, BookCursor cursor) {
+        Path<Long> id = book.get("id");
+        Predicate idAfter = cb.greaterThan(id, cursor.id());
+        if (sort.attribute() == null) {
+            return idAfter;
+        }
+        Path key = book.get(sort.attribute());
+        Comparable value = cursor.key();
+        return cb.or(
+                cb.greaterThan(key, value),
+                cb.and(cb.equal(key, value), idAfter)
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.repository;
+
+import org.example.entity.Book;
+import org.example.exception.InvalidCursorException;
+
+import java.util.Arrays;
+
+/**
+ * Ключи сортировки для keyset-пагинации книг.
+ * Каждый ключ дополняется {@code id}, чтобы порядок был строгим.
+ */
+public enum BookSort {
+    ID("id", null),
+    TITLE("title", "title"),
+    YEAR("year", "publishedYear");
+
+    private final String param;
+    private final String attribute;
+
+    BookSort(String param, String attribute) {
+        this.param = param;
+        this.attribute = attribute;
+    }
+
+    public static BookSort fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidCursorException("Unknown sort key: " + param));
+    }
+
+    /**
+     * Атрибут сущности, по которому идёт сортировка, или {@code null} для сортировки только по id.
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    String keyOf(Book book) {
+        return switch (this) {
+            case ID -> "";
+            case TITLE -> book.getTitle();
+            case YEAR -> String.valueOf(book.getPublishedYear());
+        };
+    }
+
+    Comparable<?> parseKey(String key) {
+        return switch (this) {
+            case ID -> null;
+            case TITLE -> key;
+            case YEAR -> Integer.valueOf(key);
+        };
+    }
+}
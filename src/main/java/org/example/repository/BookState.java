@@ -0,0 +1,7 @@
+package org.example.repository;
+
+/**
+ * Поля книги, от которых зависят агрегаты автора и статистика каталога.
+ */
+public record BookState(Long authorId, String genre, Integer publishedYear) {
+}
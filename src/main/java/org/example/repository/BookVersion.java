@@ -0,0 +1,14 @@
+package org.example.repository;
+
+import org.example.entity.Book;
+
+/**
+ * Версии книги и её автора. Автор входит в представление книги,
+ * поэтому изменение любой из версий означает новое представление.
+ */
+public record BookVersion(long book, long author) {
+
+    public static BookVersion of(Book book) {
+        return new BookVersion(book.getVersion(), book.getAuthor().getVersion());
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.repository;
+
+/**
+ * Удалённая строка книги — то, что нужно для пересчёта агрегатов автора, статистики и поискового индекса.
+ * Жанр остаётся ключом справочника.
+ */
+public record DeletedBook(Long id, Long authorId, Short genreId, Integer publishedYear) {
+}
@@ -0,0 +1,4 @@
+package org.example.repository;
+
+public record GenreCount(String genre, long count) {
+}
@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import org.example.entity.Genre;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GenreRepository extends JpaRepository<Genre, Short>, GenreRepositoryCustom {
+
+    Optional<Genre> findByName(String name);
+}
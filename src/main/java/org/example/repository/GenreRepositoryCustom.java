@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.entity.Genre;
+
+public interface GenreRepositoryCustom {
+
+    /**
+     * Добавляет жанр в транзакции вызывающего, на его же соединении. Если жанр с тем же названием
+     * уже вставила параллельная транзакция, вставка откатывается до точки сохранения и возвращается её жанр,
+     * а вызывающая транзакция продолжается.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException если ключи {@code smallint} исчерпаны
+     */
+    Genre insert(String name);
+}
@@ -0,0 +1,72 @@
+package org.example.repository;
+
+import org.example.entity.Genre;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+public class GenreRepositoryCustomImpl implements GenreRepositoryCustom {
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final JdbcTemplate jdbc;
+
+    public GenreRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Genre insert(String name) {
+        return jdbc.execute((ConnectionCallback<Genre>) connection -> {
+            short id = nextId(connection);
+            // вне транзакции (реактивный сервис) вставка фиксируется сразу и точка сохранения не нужна
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement("insert into Genre (id, name) values (?, ?)")) {
+                insert.setShort(1, id);
+                insert.setString(2, name);
+                insert.executeUpdate();
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                return findByName(connection, name);
+            }
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+            return new Genre(id, name);
+        });
+    }
+
+    private short nextId(Connection connection) throws SQLException {
+        try (PreparedStatement next = connection.prepareStatement("select next value for genre_seq");
+             ResultSet rs = next.executeQuery()) {
+            rs.next();
+            long id = rs.getLong(1);
+            if (id > Short.MAX_VALUE) {
+                throw new DataIntegrityViolationException("Genre dictionary is full: id " + id + " exceeds smallint");
+            }
+            return (short) id;
+        }
+    }
+
+    private Genre findByName(Connection connection, String name) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("select id, name from Genre where name = ?")) {
+            select.setString(1, name);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Genre not found after unique violation: " + name);
+                }
+                return new Genre(rs.getShort("id"), rs.getString("name"));
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.repository;
+
+public record YearCount(Integer publishedYear, long count) {
+}
@@ -0,0 +1,13 @@
+package org.example.search;
+
+import org.example.entity.Book;
+
+/**
+ * Снимок полей книги для поискового индекса. Снимается внутри транзакции, пока автор доступен.
+ */
+public record BookDocument(long id, String title, String genre, String author) {
+
+    public static BookDocument of(Book book) {
+        return new BookDocument(book.getId(), book.getTitle(), book.getGenre(), book.getAuthor().getName());
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.search;
+
+import org.example.service.BookService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Держит {@link BookSearchIndex} в согласии с базой: строит его при старте и применяет изменения
+ * из {@link BooksChangedEvent} после коммита, чтобы откатившиеся транзакции в индекс не попадали.
+ */
+@Component
+public class BookIndexer {
+    private final BookService bookService;
+    private final BookSearchIndex index;
+
+    public BookIndexer(BookService bookService, BookSearchIndex index) {
+        this.bookService = bookService;
+        this.index = index;
+    }
+
+    /**
+     * Строится в фоне, чтобы большой каталог не задерживал приём запросов; пока построение не закончено,
+     * поиск возвращает пустой результат.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.rebuild(sink -> bookService.exportAll(book -> sink.accept(BookDocument.of(book))));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (!event.removed().isEmpty()) {
+            index.remove(event.removed());
+        }
+        if (!event.indexed().isEmpty()) {
+            index.index(event.indexed());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.search;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Полнотекстовый индекс Lucene по названию, жанру и имени автора. Хранится в памяти и заполняется
+ * при старте из базы, дальше обновляется инкрементально (см. {@link BookIndexer}).
+ * <p>
+ * Поиск идёт по near-real-time ридеру {@link IndexWriter}, поэтому коммит индекса на диск не нужен.
+ * Перестроение пишет в отдельный индекс и подменяет им текущий целиком.
+ */
+@Component
+public class BookSearchIndex {
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String GENRE = "genre";
+    static final String AUTHOR = "author";
+
+    /**
+     * Совпадение в названии важнее совпадения в имени автора, а то — важнее жанра.
+     */
+    private static final Map<String, Float> WEIGHTS = Map.of(TITLE, 3f, AUTHOR, 2f, GENRE, 1f);
+
+    private final Analyzer analyzer;
+    /**
+     * Упорядочивает инкрементальные изменения и подмену индекса; под ним нет ожидания базы.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Generation current;
+    /**
+     * Изменения, применённые к текущему индексу во время перестроения; {@code null}, если перестроения нет.
+     */
+    private List<Change> pending;
+
+    public BookSearchIndex() throws IOException {
+        this.analyzer = new StandardAnalyzer();
+        this.current = Generation.open(analyzer);
+    }
+
+    public void index(Collection<BookDocument> documents) {
+        apply(writer -> {
+            for (BookDocument document : documents) {
+                writer.updateDocument(idTerm(document.id()), toLucene(document));
+            }
+        });
+    }
+
+    public void remove(Collection<Long> ids) {
+        apply(writer -> writer.deleteDocuments(ids.stream().map(BookSearchIndex::idTerm).toArray(Term[]::new)));
+    }
+
+    private void apply(Change change) {
+        lock.lock();
+        try {
+            change.applyTo(current.writer());
+            current.searcherManager().maybeRefresh();
+            if (pending != null) {
+                pending.add(change);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Заменяет содержимое индекса документами из {@code source}. Документы пишутся в новый индекс, поиск
+     * до конца перестроения видит прежний. Изменения, пришедшие за это время через {@link #index} и
+     * {@link #remove}, повторяются на новом индексе перед подменой, поэтому удалённые книги не возвращаются,
+     * а изменённые не остаются в прежнем виде.
+     *
+     * @param source получает приёмник и передаёт в него все документы
+     */
+    public void rebuild(Consumer<Consumer<BookDocument>> source) {
+        List<Change> changes = new ArrayList<>();
+        lock.lock();
+        try {
+            if (pending != null) {
+                throw new IllegalStateException("Search index rebuild is already in progress");
+            }
+            pending = changes;
+        } finally {
+            lock.unlock();
+        }
+
+        Generation next = null;
+        Generation previous = null;
+        try {
+            next = Generation.open(analyzer);
+            IndexWriter writer = next.writer();
+            source.accept(document -> {
+                try {
+                    writer.addDocument(toLucene(document));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            lock.lock();
+            try {
+                for (Change change : changes) {
+                    change.applyTo(writer);
+                }
+                next.searcherManager().maybeRefresh();
+                previous = current;
+                current = next;
+                next = null;
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            closeQuietly(next);
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * Ищет книги по запросу в синтаксисе {@link SimpleQueryParser}: слова объединяются по И,
+     * поддерживаются {@code "фразы"}, префиксы {@code слово*} и исключение {@code -слово}.
+     * Предыдущие страницы пропускаются через {@link IndexSearcher#searchAfter}, так что за один проход
+     * собирается не больше одной страницы совпадений, а не {@code offset + size}.
+     *
+     * @return id книг по убыванию релевантности
+     */
+    public Page<Long> search(String text, Pageable pageable) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        try {
+            SearcherManager searcherManager;
+            IndexSearcher searcher;
+            while (true) {
+                searcherManager = current.searcherManager();
+                try {
+                    searcher = searcherManager.acquire();
+                    break;
+                } catch (AlreadyClosedException e) {
+                    // индекс только что подменён перестроением — берём новый
+                }
+            }
+            try {
+                int size = pageable.getPageSize();
+                TopDocs top = searcher.search(query, size);
+                int page = 0;
+                while (page < pageable.getPageNumber() && top.scoreDocs.length == size) {
+                    top = searcher.searchAfter(top.scoreDocs[size - 1], query, size);
+                    page++;
+                }
+                List<Long> ids = new ArrayList<>(size);
+                if (page == pageable.getPageNumber()) {
+                    // иначе совпадения кончились раньше запрошенной страницы
+                    for (ScoreDoc hit : top.scoreDocs) {
+                        ids.add(Long.parseLong(searcher.storedFields().document(hit.doc).get(ID)));
+                    }
+                }
+                long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? top.totalHits.value
+                        : searcher.count(query);
+                return new PageImpl<>(ids, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        current.close();
+    }
+
+    private static void closeQuietly(Generation generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            generation.close();
+        } catch (IOException | RuntimeException ignored) {
+            // поиск уже переключён на другой индекс
+        }
+    }
+
+    private static Term idTerm(long id) {
+        return new Term(ID, String.valueOf(id));
+    }
+
+    private static Document toLucene(BookDocument book) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(book.id()), Field.Store.YES));
+        document.add(new TextField(TITLE, book.title(), Field.Store.NO));
+        document.add(new TextField(GENRE, book.genre(), Field.Store.NO));
+        document.add(new TextField(AUTHOR, book.author(), Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Изменение, которое можно применить и к текущему индексу, и повторно — к строящемуся.
+     */
+    @FunctionalInterface
+    private interface Change {
+        void applyTo(IndexWriter writer) throws IOException;
+    }
+
+    private record Generation(Directory directory, IndexWriter writer, SearcherManager searcherManager)
+            implements Closeable {
+
+        static Generation open(Analyzer analyzer) throws IOException {
+            Directory directory = new ByteBuffersDirectory();
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            return new Generation(directory, writer, new SearcherManager(writer, null));
+        }
+
+        @Override
+        public void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+}
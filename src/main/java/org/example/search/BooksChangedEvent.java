@@ -0,0 +1,24 @@
+package org.example.search;
+
+import java.util.List;
+
+/**
+ * Изменения каталога, которые нужно перенести в индекс после коммита транзакции.
+ *
+ * @param indexed созданные или изменённые книги
+ * @param removed id удалённых книг
+ */
+public record BooksChangedEvent(List<BookDocument> indexed, List<Long> removed) {
+
+    public static BooksChangedEvent indexed(List<BookDocument> documents) {
+        return new BooksChangedEvent(documents, List.of());
+    }
+
+    public static BooksChangedEvent removed(Long id) {
+        return new BooksChangedEvent(List.of(), List.of(id));
+    }
+
+    public static BooksChangedEvent removed(List<Long> ids) {
+        return new BooksChangedEvent(List.of(), ids);
+    }
+}
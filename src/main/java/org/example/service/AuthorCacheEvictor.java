@@ -0,0 +1,31 @@
+package org.example.service;
+
+import org.example.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Сбрасывает закэшированные ответы только тех авторов, чьи агрегаты изменила запись книг.
+ * Затронутые id известны лишь внутри транзакции (прежний автор книги, авторы удалённых строк),
+ * поэтому сброс идёт по событию, а не через {@code @CacheEvict}. Как и {@code @CacheEvict}
+ * (см. {@link CacheConfig}), он срабатывает после коммита.
+ */
+@Component
+public class AuthorCacheEvictor {
+    private final CacheManager cacheManager;
+
+    public AuthorCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuthorStatsChanged(AuthorStatsChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.AUTHORS);
+        if (cache != null) {
+            event.authorIds().forEach(cache::evict);
+        }
+    }
+}
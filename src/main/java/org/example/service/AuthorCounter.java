@@ -0,0 +1,39 @@
+package org.example.service;
+
+import org.example.repository.AuthorRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Приблизительное число авторов без {@code COUNT(*)} на каждый запрос. Считается один раз при первом
+ * обращении и дальше увеличивается по {@link AuthorsCreatedEvent}. Авторы не удаляются, поэтому
+ * расхождение возможно только из-за создания, закоммиченного во время первого подсчёта.
+ */
+@Component
+public class AuthorCounter {
+    private static final long UNKNOWN = -1;
+
+    private final AuthorRepository repository;
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public AuthorCounter(AuthorRepository repository) {
+        this.repository = repository;
+    }
+
+    public long get() {
+        long current = total.get();
+        if (current != UNKNOWN) {
+            return current;
+        }
+        total.compareAndSet(UNKNOWN, repository.count());
+        return total.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuthorsCreated(AuthorsCreatedEvent event) {
+        total.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : current + event.count());
+    }
+}
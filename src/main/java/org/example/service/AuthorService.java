@@ -1,32 +1,136 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.config.CacheConfig;
+import org.example.config.MetricsConfig;
 import org.example.dto.mapper.AuthorMapper;
 import org.example.dto.request.AuthorRequest;
+import org.example.dto.response.AuthorImportItemResponse;
+import org.example.dto.response.AuthorImportResponse;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.SlicePage;
 import org.example.entity.Author;
 import org.example.exception.AuthorNotFoundException;
 import org.example.repository.AuthorRepository;
+import org.example.repository.AuthorVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthorService {
 
     private final AuthorRepository repository;
     private final AuthorMapper authorMapper;
+    private final Validator validator;
+    private final AuthorCounter authorCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AuthorService(AuthorRepository repository, AuthorMapper authorMapper) {
+    public AuthorService(AuthorRepository repository,
+                         AuthorMapper authorMapper,
+                         Validator validator,
+                         AuthorCounter authorCounter,
+                         ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.authorMapper = authorMapper;
+        this.validator = validator;
+        this.authorCounter = authorCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Author create(AuthorRequest request) {
         Author author = authorMapper.requestToEntity(request);
-        return repository.save(author);
+        Author saved = repository.save(author);
+        eventPublisher.publishEvent(new AuthorsCreatedEvent(1));
+        return saved;
+    }
+
+    /**
+     * Импортирует авторов с upsert по имени. Уже существующие авторы находятся одним запросом,
+     * новые вставляются, а у найденных обновляется год рождения, если он передан;
+     * и вставки, и обновления уходят JDBC-пакетами. Повторы имени внутри пакета сводятся к одному автору.
+     * <p>
+     * Обновлённые авторы могут быть вложены в любые закэшированные книги, поэтому оба кэша сбрасываются целиком.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
+    @Transactional
+    public AuthorImportResponse importAuthors(List<AuthorRequest> requests) {
+        Set<String> names = requests.stream()
+                .map(AuthorRequest::name)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Author> byName = repository.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(Author::getName, Function.identity()));
+        Set<String> existingNames = new HashSet<>(byName.keySet());
+
+        String[] codes = new String[requests.size()];
+        String[] messages = new String[requests.size()];
+        Author[] resolved = new Author[requests.size()];
+        List<Author> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AuthorRequest request = requests.get(i);
+            Set<ConstraintViolation<AuthorRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                codes[i] = HttpStatus.BAD_REQUEST.toString();
+                messages[i] = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                continue;
+            }
+            Author author = byName.get(request.name());
+            if (author == null) {
+                author = authorMapper.requestToEntity(request);
+                byName.put(author.getName(), author);
+                created.add(author);
+            } else if (request.birthYear() != null) {
+                author.setBirthYear(request.birthYear());
+            }
+            codes[i] = existingNames.contains(request.name()) ? HttpStatus.OK.toString() : HttpStatus.CREATED.toString();
+            resolved[i] = author;
+        }
+
+        repository.saveAll(created);
+        repository.flush();
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new AuthorsCreatedEvent(created.size()));
+        }
+
+        List<AuthorImportItemResponse> items = new ArrayList<>(requests.size());
+        int matched = 0;
+        int failed = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            Long id = resolved[i] == null ? null : resolved[i].getId();
+            items.add(new AuthorImportItemResponse(i, codes[i], id, messages[i]));
+            if (resolved[i] == null) {
+                failed++;
+            } else if (HttpStatus.OK.toString().equals(codes[i])) {
+                matched++;
+            }
+        }
+        return new AuthorImportResponse(created.size(), matched, failed, items);
     }
 
     @Transactional(readOnly = true)
@@ -34,9 +138,62 @@ public class AuthorService {
         return repository.findAll(request);
     }
 
+    /**
+     * То же, что {@link #getPage(PageRequest)}, но без {@code COUNT(*)}: общее число берётся
+     * из {@link AuthorCounter}.
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<Author> getSlice(PageRequest request) {
+        Slice<Author> slice = repository.findSliceBy(request);
+        return new SlicePage<>(slice.getContent(), request.getPageNumber() + 1, request.getPageSize(),
+                slice.hasNext(), authorCounter.get());
+    }
+
+    /**
+     * Авторы по списку id одним запросом, в порядке id; отсутствующие id — в {@link MultiGetResponse#missing()}.
+     */
+    @Transactional(readOnly = true)
+    public MultiGetResponse<Author> getByIds(List<Long> ids) {
+        Map<Long, Author> authors = repository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        return MultiGetResponse.of(ids, authors);
+    }
+
     @Transactional(readOnly = true)
     public Author getById(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new AuthorNotFoundException(id));
     }
+
+    /**
+     * Версия и агрегаты автора без загрузки сущности — для ETag и условных запросов.
+     */
+    @Transactional(readOnly = true)
+    public AuthorVersion getVersion(Long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new AuthorNotFoundException(id));
+    }
+
+    /**
+     * То же, что {@link #getById(Long)}, но через кэш готовых ответов, вместе с версией автора
+     * (см. {@link BookService#getResponseById(Long)}).
+     */
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<AuthorResponse, AuthorVersion> getResponseById(Long id) {
+        return toVersioned(getById(id));
+    }
+
+    /**
+     * Читает ответ из базы и заменяет им закэшированный (см. {@link BookService#reloadResponseById(Long)}).
+     */
+    @CachePut(cacheNames = CacheConfig.AUTHORS, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<AuthorResponse, AuthorVersion> reloadResponseById(Long id) {
+        return toVersioned(getById(id));
+    }
+
+    private Versioned<AuthorResponse, AuthorVersion> toVersioned(Author author) {
+        return new Versioned<>(authorMapper.entityToResponse(author), AuthorVersion.of(author));
+    }
 }
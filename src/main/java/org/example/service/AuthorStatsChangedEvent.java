@@ -0,0 +1,12 @@
+package org.example.service;
+
+import java.util.Set;
+
+/**
+ * Публикуется {@link BookService}, когда запись книг пересчитала агрегаты авторов; по нему
+ * {@link AuthorCacheEvictor} сбрасывает ответы этих авторов после коммита.
+ *
+ * @param authorIds авторы, у которых пересчитаны число книг и годы публикаций
+ */
+public record AuthorStatsChangedEvent(Set<Long> authorIds) {
+}
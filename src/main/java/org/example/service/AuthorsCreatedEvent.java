@@ -0,0 +1,9 @@
+package org.example.service;
+
+/**
+ * Публикуется {@link AuthorService} при создании авторов; обрабатывается после коммита.
+ *
+ * @param count сколько авторов создано в транзакции
+ */
+public record AuthorsCreatedEvent(int count) {
+}
@@ -1,33 +1,86 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.config.CacheConfig;
+import org.example.config.MetricsConfig;
 import org.example.dto.mapper.BookMapper;
+import org.example.dto.request.BookPatchRequest;
 import org.example.dto.request.BookRequest;
 import org.example.dto.request.BookUpdateRequest;
+import org.example.dto.response.BookBatchItemResponse;
+import org.example.dto.response.BookBatchResponse;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.CursorPage;
 import org.example.entity.Author;
 import org.example.entity.Book;
 import org.example.exception.AuthorNotFoundException;
 import org.example.exception.BookNotFoundException;
+import org.example.exception.BookVersionMismatchException;
+import org.example.exception.InvalidCursorException;
 import org.example.repository.AuthorRepository;
+import org.example.repository.BookChanges;
+import org.example.repository.BookCursor;
+import org.example.repository.BookFilter;
 import org.example.repository.BookRepository;
+import org.example.repository.BookSort;
+import org.example.repository.BookState;
+import org.example.repository.BookVersion;
+import org.example.repository.DeletedBook;
+import org.example.search.BookDocument;
+import org.example.search.BookSearchIndex;
+import org.example.search.BooksChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final BookSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenreDictionary genres;
 
     @Autowired
     public BookService(BookRepository bookRepository,
                        BookMapper bookMapper,
-                       AuthorRepository authorRepository) {
+                       AuthorRepository authorRepository,
+                       EntityManager entityManager,
+                       Validator validator,
+                       BookSearchIndex searchIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       GenreDictionary genres) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
         this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.genres = genres;
     }
 
     @Transactional
@@ -36,41 +89,367 @@ public class BookService {
         Author author = authorRepository.findById(request.authorId())
                 .orElseThrow(() -> new AuthorNotFoundException(request.authorId()));
         book.setAuthor(author);
-        return bookRepository.save(book);
+        book.setGenre(genres.resolve(request.genre()));
+        Book saved = bookRepository.save(book);
+        refreshAuthorStats(Set.of(author.getId()));
+        eventPublisher.publishEvent(BooksChangedEvent.indexed(List.of(BookDocument.of(saved))));
+        eventPublisher.publishEvent(CatalogChangedEvent.added(List.of(saved)));
+        return saved;
     }
 
     @Transactional(readOnly = true)
     public List<Book> getList() {
-        return bookRepository.findAll();
+        return bookRepository.findAllWithAuthor();
+    }
+
+    /**
+     * Создаёт пакет книг. Авторы и занятые названия проверяются двумя запросами на весь пакет,
+     * книги, не прошедшие проверку, пропускаются и попадают в ответ с причиной отказа,
+     * остальные вставляются JDBC-пакетами.
+     * <p>
+     * Если название займут параллельно между проверкой и вставкой, транзакция откатится целиком
+     * с {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    @Transactional
+    public BookBatchResponse createBatch(List<BookRequest> requests) {
+        Set<Long> authorIds = requests.stream()
+                .map(BookRequest::authorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Author> authors = authorRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        Set<String> titles = requests.stream()
+                .map(BookRequest::title)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenTitles = new HashSet<>(bookRepository.findExistingTitles(titles));
+
+        BookBatchItemResponse[] items = new BookBatchItemResponse[requests.size()];
+        Map<Integer, Book> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookRequest request = requests.get(i);
+            Set<ConstraintViolation<BookRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                items[i] = failed(i, HttpStatus.BAD_REQUEST, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            Author author = authors.get(request.authorId());
+            if (author == null) {
+                items[i] = failed(i, HttpStatus.NOT_FOUND, new AuthorNotFoundException(request.authorId()).getMessage());
+                continue;
+            }
+            if (!takenTitles.add(request.title())) {
+                items[i] = failed(i, HttpStatus.CONFLICT, "Нарушено ограничение: uk_book_title");
+                continue;
+            }
+            Book book = bookMapper.requestToEntity(request);
+            book.setAuthor(author);
+            book.setGenre(genres.resolve(request.genre()));
+            accepted.put(i, book);
+        }
+
+        bookRepository.saveAll(new ArrayList<>(accepted.values()));
+        bookRepository.flush();
+        if (!accepted.isEmpty()) {
+            refreshAuthorStats(accepted.values().stream()
+                    .map(book -> book.getAuthor().getId())
+                    .collect(Collectors.toSet()));
+        }
+        eventPublisher.publishEvent(BooksChangedEvent.indexed(
+                accepted.values().stream().map(BookDocument::of).toList()
+        ));
+        eventPublisher.publishEvent(CatalogChangedEvent.added(accepted.values()));
+        accepted.forEach((i, book) -> items[i] = new BookBatchItemResponse(
+                i, HttpStatus.CREATED.toString(), bookMapper.entityToResponse(book), null
+        ));
+
+        return new BookBatchResponse(accepted.size(), requests.size() - accepted.size(), List.of(items));
+    }
+
+    private static BookBatchItemResponse failed(int index, HttpStatus status, String message) {
+        return new BookBatchItemResponse(index, status.toString(), null, message);
+    }
+
+    /**
+     * Передаёт все книги в {@code consumer} по мере чтения курсора. Контекст персистентности
+     * очищается после каждой порции, поэтому потребление памяти не зависит от размера каталога.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Book> consumer) {
+        try (Stream<Book> books = bookRepository.streamAllWithAuthor()) {
+            Iterator<Book> iterator = books.iterator();
+            int read = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++read % BookRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Keyset-выборка книг. Если передан курсор, порядок берётся из него;
+     * явный {@code sort} при этом должен с ним совпадать.
+     * Фильтр в курсор не входит: следующие порции нужно запрашивать с тем же фильтром.
+     * Жанр сравнивается по ключу справочника.
+     *
+     * @param after  курсор из {@link CursorPage#nextCursor()} предыдущей страницы или {@code null}
+     * @param sort   ключ сортировки или {@code null} для сортировки по id
+     * @param filter условия отбора, {@link BookFilter#NONE} — без них
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getSlice(String after, BookSort sort, BookFilter filter, int limit) {
+        BookCursor cursor = after == null ? null : BookCursor.decode(after);
+        if (cursor != null && sort != null && cursor.sort() != sort) {
+            throw new InvalidCursorException("Cursor was issued for sort=" + cursor.sort() + ", not " + sort);
+        }
+        BookSort order = cursor != null ? cursor.sort() : (sort != null ? sort : BookSort.ID);
+        if (filter.genre() != null && genres.find(filter.genre()).isEmpty()) {
+            // книг с жанром не из справочника нет, а добавлять жанр ради чтения не нужно
+            return new CursorPage<>(List.of(), false, null);
+        }
+
+        List<Book> books = bookRepository.findNextSlice(order, filter, cursor, limit + 1);
+        if (books.size() <= limit) {
+            return new CursorPage<>(books, false, null);
+        }
+        List<Book> content = books.subList(0, limit);
+        String next = BookCursor.after(order, content.get(limit - 1)).encode();
+        return new CursorPage<>(content, true, next);
+    }
+
+    /**
+     * Книги автора порциями. Выборка идёт по индексам {@code (author_id, id)} и
+     * {@code (author_id, published_year, id)}; для несуществующего автора — {@link AuthorNotFoundException}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getSliceByAuthor(Long authorId, String after, BookSort sort, int limit) {
+        if (!authorRepository.existsById(authorId)) {
+            throw new AuthorNotFoundException(authorId);
+        }
+        return getSlice(after, sort, new BookFilter(null, null, null, authorId), limit);
+    }
+
+    /**
+     * Полнотекстовый поиск по названию, жанру и имени автора. Порядок — по релевантности из индекса,
+     * книги текущей страницы загружаются из базы одним запросом.
+     */
+    @Transactional(readOnly = true)
+    public Page<Book> search(String query, PageRequest pageRequest) {
+        Page<Long> hits = searchIndex.search(query, pageRequest);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageRequest, hits.getTotalElements());
+        }
+        Map<Long, Book> books = bookRepository.findAllWithAuthorByIdIn(hits.getContent()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> ranked = hits.getContent().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, pageRequest, hits.getTotalElements());
+    }
+
+    /**
+     * Книги по списку id вместе с авторами одним запросом. Порядок ответа совпадает с порядком id,
+     * отсутствующие id перечисляются в {@link MultiGetResponse#missing()}.
+     */
+    @Transactional(readOnly = true)
+    public MultiGetResponse<Book> getByIds(List<Long> ids) {
+        Map<Long, Book> books = bookRepository.findAllWithAuthorByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return MultiGetResponse.of(ids, books);
     }
 
     @Transactional(readOnly = true)
     public Book getById(Long id) {
         return bookRepository
-                .findById(id)
+                .findWithAuthorById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
     }
 
+    /**
+     * Версии книги и автора без загрузки сущностей — для ETag и условных запросов.
+     */
+    @Transactional(readOnly = true)
+    public BookVersion getVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+    }
+
+    /**
+     * То же, что {@link #getById(Long)}, но через кэш готовых ответов. Версия хранится вместе с ответом:
+     * если она разошлась с {@link #getVersion(Long)}, ответ нужно перечитать через {@link #reloadResponseById(Long)}.
+     */
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<BookResponse, BookVersion> getResponseById(Long id) {
+        return toVersioned(getById(id));
+    }
+
+    /**
+     * Читает ответ из базы и заменяет им закэшированный. Нужен, когда чтение, пересекшееся с записью,
+     * вернуло в кэш прежнее состояние уже после сброса.
+     */
+    @CachePut(cacheNames = CacheConfig.BOOKS, key = "#id")
+    @Transactional(readOnly = true)
+    public Versioned<BookResponse, BookVersion> reloadResponseById(Long id) {
+        return toVersioned(getById(id));
+    }
+
+    private Versioned<BookResponse, BookVersion> toVersioned(Book book) {
+        return new Versioned<>(bookMapper.entityToResponse(book), BookVersion.of(book));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     @Transactional
     public Book update(Long id, BookUpdateRequest updateRequest) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
+        Long previousAuthorId = book.getAuthor().getId();
+        CatalogChangedEvent.Facet before = CatalogChangedEvent.Facet.of(book);
         Author author = authorRepository.findById(updateRequest.authorId())
                 .orElseThrow(() -> new AuthorNotFoundException(updateRequest.authorId()));
 
         book.setAuthor(author);
-        book.setGenre(updateRequest.genre());
+        book.setGenre(genres.resolve(updateRequest.genre()));
         book.setTitle(updateRequest.title());
         book.setPublishedYear(updateRequest.publishedYear());
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        refreshAuthorStats(Stream.of(previousAuthorId, author.getId()).collect(Collectors.toSet()));
+        eventPublisher.publishEvent(BooksChangedEvent.indexed(List.of(BookDocument.of(saved))));
+        eventPublisher.publishEvent(CatalogChangedEvent.changed(before, CatalogChangedEvent.Facet.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Частичное обновление без чтения сущности: переданные поля меняются одним {@code UPDATE} с проверкой версии,
+     * автор подставляется ссылкой без загрузки. Прежние автор, жанр и год читаются лёгкой проекцией только
+     * если меняется что-то из них — для агрегатов автора и статистики каталога.
+     * <p>
+     * Новый жанр добавляется в справочник отдельной транзакцией, поэтому перед этим проверяются
+     * существование книги и её версия: запрос, который закончится 404 или 412, справочник не меняет.
+     *
+     * @param version ожидаемая версия книги или {@code null}, чтобы не проверять её
+     * @throws BookVersionMismatchException если книга уже изменена
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    @Transactional
+    public Book patch(Long id, Long version, BookPatchRequest request) {
+        BookState before = null;
+        if (request.changesFacets()) {
+            before = bookRepository.findStateById(id)
+                    .orElseThrow(() -> new BookNotFoundException(id));
+        }
+        if (request.genre() != null && genres.find(request.genre()).isEmpty()) {
+            BookVersion current = bookRepository.findVersionById(id)
+                    .orElseThrow(() -> new BookNotFoundException(id));
+            if (version != null && current.book() != version) {
+                throw new BookVersionMismatchException(id, version);
+            }
+        }
+        BookChanges changes = new BookChanges(
+                request.title(),
+                request.authorId() == null ? null : authorRepository.getReferenceById(request.authorId()),
+                request.publishedYear(),
+                genres.resolve(request.genre())
+        );
+
+        int updated;
+        try {
+            updated = bookRepository.updateIfVersion(id, version, changes);
+        } catch (DataIntegrityViolationException ex) {
+            if (request.authorId() != null && !authorRepository.existsById(request.authorId())) {
+                throw new AuthorNotFoundException(request.authorId());
+            }
+            throw ex;
+        }
+        if (updated == 0) {
+            if (bookRepository.findVersionById(id).isEmpty()) {
+                throw new BookNotFoundException(id);
+            }
+            throw new BookVersionMismatchException(id, version);
+        }
+
+        if (before != null) {
+            Set<Long> authorIds = new HashSet<>();
+            authorIds.add(before.authorId());
+            if (request.authorId() != null) {
+                authorIds.add(request.authorId());
+            }
+            refreshAuthorStats(authorIds);
+        }
+        Book saved = getById(id);
+        eventPublisher.publishEvent(BooksChangedEvent.indexed(List.of(BookDocument.of(saved))));
+        if (before != null) {
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(
+                    new CatalogChangedEvent.Facet(before.genre(), before.publishedYear()),
+                    CatalogChangedEvent.Facet.of(saved)
+            ));
+        }
+        return saved;
     }
 
+    /**
+     * Удаляет книгу одной командой, без предварительного чтения.
+     *
+     * @return {@code false}, если книги не было
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     @Transactional
     public boolean deleteById(Long id) {
-        if (!bookRepository.existsById(id)) {
-            return false;
+        return !delete(List.of(id), null, null).isEmpty();
+    }
+
+    /**
+     * Удаляет книги, подходящие под все переданные условия, одной командой {@code DELETE}. Агрегаты затронутых
+     * авторов пересчитываются одним запросом, индекс и статистика получают удалённые строки из той же команды.
+     *
+     * @param ids      id книг или {@code null}
+     * @param authorId автор или {@code null}
+     * @param genre    жанр или {@code null}
+     * @return число удалённых книг
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    @Transactional
+    public int deleteMatching(List<Long> ids, Long authorId, String genre) {
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        Short genreId = null;
+        if (genre != null) {
+            Optional<Short> key = genres.find(genre);
+            if (key.isEmpty()) {
+                return 0;
+            }
+            genreId = key.get();
+        }
+        return delete(ids, authorId, genreId).size();
+    }
+
+    private List<DeletedBook> delete(Collection<Long> ids, Long authorId, Short genreId) {
+        List<DeletedBook> deleted = bookRepository.deleteReturning(ids, authorId, genreId);
+        if (deleted.isEmpty()) {
+            return deleted;
         }
-        bookRepository.deleteById(id);
-        return true;
+        refreshAuthorStats(deleted.stream()
+                .map(DeletedBook::authorId)
+                .collect(Collectors.toSet()));
+        eventPublisher.publishEvent(BooksChangedEvent.removed(deleted.stream().map(DeletedBook::id).toList()));
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(), deleted.stream()
+                .map(book -> new CatalogChangedEvent.Facet(genres.nameOf(book.genreId()), book.publishedYear()))
+                .toList()));
+        return deleted;
+    }
+
+    /**
+     * Пересчитывает агрегаты авторов и сбрасывает после коммита закэшированные ответы только этих авторов.
+     */
+    private void refreshAuthorStats(Set<Long> authorIds) {
+        authorRepository.refreshBookStats(authorIds);
+        eventPublisher.publishEvent(new AuthorStatsChangedEvent(authorIds));
     }
 }
@@ -0,0 +1,37 @@
+package org.example.service;
+
+import org.example.entity.Book;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Публикуется при изменении набора книг; по нему {@link CatalogStatistics} сдвигает счётчики после коммита.
+ * Изменение книги — это пара «убрать прежние значения, добавить новые».
+ *
+ * @param added   жанр и год добавленных книг и новые значения изменённых
+ * @param removed жанр и год удалённых книг и прежние значения изменённых
+ */
+public record CatalogChangedEvent(List<Facet> added, List<Facet> removed) {
+
+    public static CatalogChangedEvent added(Collection<Book> books) {
+        return new CatalogChangedEvent(books.stream().map(Facet::of).toList(), List.of());
+    }
+
+    public static CatalogChangedEvent changed(Facet before, Facet after) {
+        return new CatalogChangedEvent(List.of(after), List.of(before));
+    }
+
+    public static CatalogChangedEvent removed(Facet facet) {
+        return new CatalogChangedEvent(List.of(), List.of(facet));
+    }
+
+    /**
+     * Значения книги, по которым ведётся статистика.
+     */
+    public record Facet(String genre, Integer publishedYear) {
+        public static Facet of(Book book) {
+            return new Facet(book.getGenre(), book.getPublishedYear());
+        }
+    }
+}
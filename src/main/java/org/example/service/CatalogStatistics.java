@@ -0,0 +1,177 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.response.CatalogStatisticsResponse;
+import org.example.repository.BookRepository;
+import org.example.repository.GenreCount;
+import org.example.repository.YearCount;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Число книг по жанрам и годам без {@code GROUP BY} на каждый запрос. Счётчики заполняются полным подсчётом
+ * при первом обращении и дальше сдвигаются по {@link CatalogChangedEvent} после коммита, поэтому чтение
+ * стоит столько, сколько жанров и лет в каталоге.
+ * <p>
+ * События, пришедшие во время полного подсчёта, запоминаются и применяются к новым счётчикам перед подменой,
+ * так что изменение, закоммиченное после снимка таблицы, не теряется. Остаётся лишь узкое окно между коммитом
+ * и обработкой его события, попавшее на начало подсчёта: такое изменение может быть учтено дважды, и его
+ * исправляет следующая сверка {@link #reconcile()}.
+ */
+@Slf4j
+@Component
+public class CatalogStatistics {
+    private final BookRepository repository;
+    /**
+     * Слушатели событий берут блокировку на чтение и работают параллельно, подмена счётчиков — на запись.
+     */
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    private final ReentrantLock reloading = new ReentrantLock();
+    private volatile Counters counters;
+    private volatile Queue<CatalogChangedEvent> missed;
+
+    public CatalogStatistics(BookRepository repository) {
+        this.repository = repository;
+    }
+
+    public CatalogStatisticsResponse get() {
+        Counters current = counters;
+        if (current == null) {
+            reloading.lock();
+            try {
+                current = counters != null ? counters : reload();
+            } finally {
+                reloading.unlock();
+            }
+        }
+        return current.toResponse();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        swap.readLock().lock();
+        try {
+            Counters current = counters;
+            if (current != null) {
+                current.apply(event);
+            }
+            Queue<CatalogChangedEvent> pending = missed;
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /**
+     * Пересчитывает счётчики по таблице книг и подменяет ими текущие. Пока статистику не запрашивали,
+     * сверять нечего.
+     */
+    @Scheduled(
+            initialDelayString = "${bookshelf.statistics.reconcile-interval}",
+            fixedDelayString = "${bookshelf.statistics.reconcile-interval}"
+    )
+    public void reconcile() {
+        if (counters == null) {
+            return;
+        }
+        reloading.lock();
+        try {
+            Counters previous = counters;
+            Counters fresh = reload();
+            if (!previous.toResponse().equals(fresh.toResponse())) {
+                log.info("Catalog statistics drifted from the book table and were reconciled");
+            }
+        } finally {
+            reloading.unlock();
+        }
+    }
+
+    /**
+     * Полный подсчёт с повтором событий, пришедших, пока он шёл. Вызывается под {@link #reloading}.
+     */
+    private Counters reload() {
+        Queue<CatalogChangedEvent> pending = new ConcurrentLinkedQueue<>();
+        missed = pending;
+        Counters fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            missed = null;
+            throw e;
+        }
+        swap.writeLock().lock();
+        try {
+            pending.forEach(fresh::apply);
+            counters = fresh;
+            missed = null;
+        } finally {
+            swap.writeLock().unlock();
+        }
+        return fresh;
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        for (GenreCount row : repository.countByGenre()) {
+            Counters.add(loaded.genres, row.genre(), row.count());
+            loaded.total.add(row.count());
+        }
+        for (YearCount row : repository.countByYear()) {
+            Counters.add(loaded.years, row.publishedYear(), row.count());
+        }
+        return loaded;
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> genres = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, LongAdder> years = new ConcurrentHashMap<>();
+
+        void apply(CatalogChangedEvent event) {
+            event.added().forEach(facet -> add(facet, 1));
+            event.removed().forEach(facet -> add(facet, -1));
+        }
+
+        void add(CatalogChangedEvent.Facet facet, long delta) {
+            total.add(delta);
+            add(genres, facet.genre(), delta);
+            add(years, facet.publishedYear(), delta);
+        }
+
+        static <K> void add(ConcurrentMap<K, LongAdder> buckets, K key, long delta) {
+            if (key != null) {
+                buckets.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+        }
+
+        CatalogStatisticsResponse toResponse() {
+            return new CatalogStatisticsResponse(total.sum(), nonZero(genres), nonZero(years));
+        }
+
+        private static <K extends Comparable<K>> Map<K, Long> nonZero(Map<K, LongAdder> buckets) {
+            Map<K, Long> result = new TreeMap<>();
+            buckets.forEach((key, counter) -> {
+                long count = counter.sum();
+                if (count != 0) {
+                    result.put(key, count);
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.service;
+
+import org.example.entity.Genre;
+import org.example.repository.GenreRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Справочник жанров в памяти: название ↔ ключ {@link Genre}. Загружается целиком при старте,
+ * жанр, которого ещё нет, добавляется в базу и сюда при первой записи книги с ним.
+ * <p>
+ * Название каждого жанра существует в единственном экземпляре строки: его получают все книги,
+ * прочитанные из базы, и все книги, записанные через {@link #resolve(String)}.
+ * <p>
+ * Новый жанр вставляется в транзакции книги, без второго соединения из пула, и попадает в справочник
+ * только после её фиксации: до этого его ключ видит лишь сама транзакция, а при откате он пропадает вместе с ней.
+ * Параллельные вставки одного названия упорядочивает уникальный индекс.
+ * <p>
+ * Перечитывание идёт под {@link ReentrantLock}, а не {@code synchronized}: внутри него запрос к базе,
+ * и виртуальный поток, ждущий его под монитором, занимал бы поток-носитель.
+ */
+@Component
+public class GenreDictionary {
+    private final GenreRepository repository;
+    private final Map<String, Short> ids = new ConcurrentHashMap<>();
+    private final Map<Short, String> names = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    public GenreDictionary(GenreRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    /**
+     * Каноничный экземпляр названия; неизвестный жанр добавляется в справочник.
+     */
+    public String resolve(String name) {
+        Short id = idOf(name);
+        return id == null ? null : nameOf(id);
+    }
+
+    /**
+     * Ключ жанра; неизвестный жанр добавляется в справочник.
+     */
+    public Short idOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        load();
+        Short id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Genre inserted = pending().get(name);
+        return inserted != null ? inserted.getId() : insert(name);
+    }
+
+    /**
+     * Ключ жанра без добавления — для фильтров: по неизвестному жанру книг нет.
+     */
+    public Optional<Short> find(String name) {
+        load();
+        Short id = ids.get(name);
+        if (id == null && pending().containsKey(name)) {
+            id = pending().get(name).getId();
+        }
+        return Optional.ofNullable(id);
+    }
+
+    public String nameOf(Short id) {
+        if (id == null) {
+            return null;
+        }
+        load();
+        String name = names.get(id);
+        if (name == null) {
+            name = pending().values().stream()
+                    .filter(genre -> genre.getId().equals(id))
+                    .map(Genre::getName)
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (name == null) {
+            // жанр добавил другой экземпляр приложения
+            reload();
+            name = names.get(id);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Unknown genre id: " + id);
+        }
+        return name;
+    }
+
+    private Short insert(String name) {
+        Genre genre = repository.insert(name);
+        if (inTransaction()) {
+            pending().put(name, genre);
+        } else {
+            put(genre);
+        }
+        return genre.getId();
+    }
+
+    /**
+     * Жанры, вставленные текущей транзакцией; в справочник они переносятся после её фиксации.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Genre> pending() {
+        if (!inTransaction()) {
+            return Map.of();
+        }
+        Map<String, Genre> pending = (Map<String, Genre>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, Genre> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.values().forEach(GenreDictionary.this::put);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(GenreDictionary.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private void reload() {
+        lock.lock();
+        try {
+            Map<String, Genre> uncommitted = pending();
+            // свои незафиксированные жанры транзакция видит в таблице, но в справочник их пока не кладёт
+            repository.findAll().stream()
+                    .filter(genre -> !uncommitted.containsKey(genre.getName()))
+                    .forEach(this::put);
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Genre genre) {
+        String name = names.computeIfAbsent(genre.getId(), id -> genre.getName());
+        ids.putIfAbsent(name, genre.getId());
+    }
+}
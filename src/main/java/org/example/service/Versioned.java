@@ -0,0 +1,8 @@
+package org.example.service;
+
+/**
+ * Готовый ответ вместе с версией сущности, из которой он построен. В кэше ответов лежит пара целиком,
+ * поэтому ETag и тело всегда берутся из одного чтения.
+ */
+public record Versioned<T, V>(T body, V version) {
+}
@@ -0,0 +1,33 @@
+package org.example.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyBeansConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(LazyBeansConfig.class)
+            .withBean("list", ArrayList.class)
+            .withBean("builder", StringBuilder.class);
+
+    @Test
+    @DisplayName("Ленивыми становятся только бины из перечисленных пакетов")
+    void lazyPackages_marksOnlyMatchingBeans() {
+        runner.withPropertyValues("bookshelf.startup.lazy-packages=java.util")
+                .run(context -> {
+                    assertThat(context.getBeanFactory().getBeanDefinition("list").isLazyInit()).isTrue();
+                    assertThat(context.getBeanFactory().getBeanDefinition("builder").isLazyInit()).isFalse();
+                });
+    }
+
+    @Test
+    @DisplayName("Без bookshelf.startup.lazy-packages все бины создаются на старте")
+    void noPackages_keepsBeansEager() {
+        runner.run(context -> assertThat(context.getBeanFactory().getBeanDefinition("list").isLazyInit()).isFalse());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatementCountFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatementCountFilter filter = new StatementCountFilter(registry);
+    private final StatementCounter inspector = new StatementCounter();
+
+    @Test
+    @DisplayName("Записывает число выражений за запрос с шаблоном URI")
+    void doFilter_recordsStatementsPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/books/{id}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+            }
+        });
+
+        DistributionSummary summary = registry.get(StatementCountFilter.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/books/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Вне запроса выражения не считаются")
+    void inspect_outsideRequest_isNotCounted() {
+        inspector.inspect("select 1");
+
+        assertEquals(0, StatementCounter.stop());
+    }
+}
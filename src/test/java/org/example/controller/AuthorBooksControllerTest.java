@@ -0,0 +1,79 @@
+package org.example.controller;
+
+import org.example.dto.mapper.BookMapper;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.pagination.CursorPage;
+import org.example.entity.Book;
+import org.example.exception.AuthorNotFoundException;
+import org.example.repository.BookSort;
+import org.example.service.BookService;
+import org.example.utils.data.BookData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthorBooksController.class)
+public class AuthorBooksControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    BookService bookService;
+    @MockitoBean
+    BookMapper bookMapper;
+
+    @Test
+    @DisplayName("GET /authors/{id}/books - возвращает порцию книг автора")
+    void getBooksOfAuthor_validParams_returnsSlice() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+        when(bookService.getSliceByAuthor(1L, "cursor", BookSort.YEAR, 5))
+                .thenReturn(new CursorPage<>(List.of(entity), true, "next"));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/authors/{authorId}/books", 1)
+                        .param("after", "cursor")
+                        .param("limit", "5")
+                        .param("sort", "year"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(response.id()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andDo(print());
+
+        verify(bookService).getSliceByAuthor(1L, "cursor", BookSort.YEAR, 5);
+        verify(bookMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id}/books - 404 при несуществующем авторе")
+    void getBooksOfAuthor_whenAuthorMissing_returns404() throws Exception {
+        when(bookService.getSliceByAuthor(42L, null, null, 20)).thenThrow(new AuthorNotFoundException(42L));
+
+        mockMvc.perform(get("/api/v1/authors/{authorId}/books", 42))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(HttpStatus.NOT_FOUND.toString()));
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id}/books - 400 при слишком большом limit")
+    void getBooksOfAuthor_whenLimitTooLarge_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/authors/{authorId}/books", 1)
+                        .param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+}
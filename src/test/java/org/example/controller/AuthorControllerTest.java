@@ -3,10 +3,17 @@ package org.example.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.mapper.AuthorMapper;
 import org.example.dto.request.AuthorRequest;
+import org.example.dto.response.AuthorImportItemResponse;
+import org.example.dto.response.AuthorImportResponse;
 import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.AuthorStatsResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.SlicePage;
 import org.example.entity.Author;
 import org.example.exception.AuthorNotFoundException;
+import org.example.repository.AuthorVersion;
 import org.example.service.AuthorService;
+import org.example.service.Versioned;
 import org.example.utils.data.AuthorData;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -67,6 +74,31 @@ public class AuthorControllerTest {
         verifyNoMoreInteractions(authorService, authorMapper);
     }
 
+    @Test
+    @DisplayName("POST /authors/import - возвращает id для каждой строки")
+    void importAuthors_validRequest_returnsResolvedIds() throws Exception {
+        List<AuthorRequest> requests = List.of(AuthorData.DEFAULT_REQUEST, AuthorData.request().withName("Newcomer").build());
+        AuthorImportResponse response = new AuthorImportResponse(1, 1, 0, List.of(
+                new AuthorImportItemResponse(0, HttpStatus.OK.toString(), 1L, null),
+                new AuthorImportItemResponse(1, HttpStatus.CREATED.toString(), 2L, null)
+        ));
+
+        when(authorService.importAuthors(requests)).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/authors/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.matched").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andDo(print());
+
+        verify(authorService).importAuthors(requests);
+        verifyNoMoreInteractions(authorService, authorMapper);
+    }
+
     @Test
     @DisplayName("GET /authors?page&size - возвращает страницу")
     void getPageOfAuthors_validParams_returnsPage() throws Exception {
@@ -96,24 +128,149 @@ public class AuthorControllerTest {
     }
 
     @Test
-    @DisplayName("GET /authors/{id} - успешный запрос")
-    void getAuthorById_existingId_returns200() throws Exception {
-        Long id = 1L;
+    @DisplayName("GET /authors?page&size - 304, если авторы на странице, их агрегаты и общее число не изменились")
+    void getPageOfAuthors_whenETagMatches_returns304() throws Exception {
+        Author entity = AuthorData.DEFAULT_ENTITY;
+        when(authorService.getPage(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(List.of(entity)));
+        when(authorMapper.entityToResponse(entity)).thenReturn(AuthorData.DEFAULT_RESPONSE);
+
+        String etag = mockMvc.perform(get("/api/v1/authors")
+                        .param("page", "1")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        entity = AuthorData.entity().withVersion(AuthorData.DEFAULT_ENTITY.getVersion() + 1).build();
+        when(authorService.getPage(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(List.of(entity)));
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        // агрегаты меняются без смены версии
+        entity = AuthorData.entity().build();
+        entity.setBookCount(1);
+        when(authorService.getPage(PageRequest.of(0, 5))).thenReturn(new PageImpl<>(List.of(entity)));
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /authors?mode=slice - возвращает порцию без общего количества")
+    void getSliceOfAuthors_validParams_returnsSlice() throws Exception {
         Author entity = AuthorData.DEFAULT_ENTITY;
         AuthorResponse response = AuthorData.DEFAULT_RESPONSE;
+        when(authorService.getSlice(PageRequest.of(1, 5)))
+                .thenReturn(new SlicePage<>(List.of(entity), 2, 5, true, 42L));
+        when(authorMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("mode", "slice")
+                        .param("page", "2")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.approximateTotal").value(42))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andDo(print());
+
+        verify(authorService).getSlice(PageRequest.of(1, 5));
+        verify(authorMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(authorService, authorMapper);
+    }
 
-        when(authorService.getById(id)).thenReturn(entity);
+    @Test
+    @DisplayName("GET /authors?ids - возвращает найденных авторов и список ненайденных id")
+    void getAuthorsByIds_returnsFoundAndMissing() throws Exception {
+        Author entity = AuthorData.DEFAULT_ENTITY;
+        AuthorResponse response = AuthorData.DEFAULT_RESPONSE;
+        when(authorService.getByIds(List.of(7L, 1L)))
+                .thenReturn(new MultiGetResponse<>(List.of(entity), List.of(7L)));
         when(authorMapper.entityToResponse(entity)).thenReturn(response);
 
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("ids", "7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(7))
+                .andDo(print());
+
+        verify(authorService).getByIds(List.of(7L, 1L));
+        verify(authorMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(authorService, authorMapper);
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id} - успешный запрос")
+    void getAuthorById_existingId_returns200() throws Exception {
+        Long id = 1L;
+        AuthorResponse response = AuthorData.response().withStats(new AuthorStatsResponse(3, 1990, 2005)).build();
+
+        AuthorVersion version = new AuthorVersion(2L, 3L, 1990, 2005);
+        when(authorService.getVersion(id)).thenReturn(version);
+        when(authorService.getResponseById(id)).thenReturn(new Versioned<>(response, version));
+
         mockMvc.perform(get("/api/v1/authors/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.3.1990-2005\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Author"))
                 .andExpect(jsonPath("$.birthYear").value(1970))
+                .andExpect(jsonPath("$.stats.bookCount").value(3))
+                .andExpect(jsonPath("$.stats.firstPublishedYear").value(1990))
+                .andExpect(jsonPath("$.stats.lastPublishedYear").value(2005))
                 .andDo(print());
 
-        verify(authorService).getById(id);
-        verify(authorMapper).entityToResponse(entity);
+        verify(authorService).getVersion(id);
+        verify(authorService).getResponseById(id);
+        verifyNoMoreInteractions(authorService, authorMapper);
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id} - ответ из кэша с устаревшими агрегатами перечитывается, ETag соответствует телу")
+    void getAuthorById_whenCachedVersionIsStale_reloadsResponse() throws Exception {
+        Long id = 1L;
+        AuthorVersion current = new AuthorVersion(2L, 4L, 1990, 2010);
+        when(authorService.getVersion(id)).thenReturn(current);
+        when(authorService.getResponseById(id)).thenReturn(new Versioned<>(AuthorData.DEFAULT_RESPONSE,
+                new AuthorVersion(2L, 3L, 1990, 2005)));
+        when(authorService.reloadResponseById(id)).thenReturn(new Versioned<>(
+                AuthorData.response().withStats(new AuthorStatsResponse(4, 1990, 2010)).build(), current));
+
+        mockMvc.perform(get("/api/v1/authors/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.4.1990-2010\""))
+                .andExpect(jsonPath("$.stats.bookCount").value(4));
+
+        verify(authorService).reloadResponseById(id);
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id} - 304 без загрузки автора, если ETag совпал")
+    void getAuthorById_whenETagMatches_returns304() throws Exception {
+        Long id = 1L;
+        when(authorService.getVersion(id)).thenReturn(new AuthorVersion(2L, 0L, null, null));
+
+        mockMvc.perform(get("/api/v1/authors/{id}", id)
+                        .header("If-None-Match", "\"2.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(authorService).getVersion(id);
         verifyNoMoreInteractions(authorService, authorMapper);
     }
 
@@ -121,7 +278,7 @@ public class AuthorControllerTest {
     @DisplayName("GET /authors/{id} - 404 при несуществующем авторе")
     void getById_whenNotFound_returns404() throws Exception {
         Long id = 42L;
-        when(authorService.getById(id)).thenThrow(new AuthorNotFoundException(id));
+        when(authorService.getVersion(id)).thenThrow(new AuthorNotFoundException(id));
 
         mockMvc.perform(get("/api/v1/authors/{id}", id)
                         .accept(MediaType.APPLICATION_JSON))
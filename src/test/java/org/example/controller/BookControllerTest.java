@@ -1,25 +1,45 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.example.dto.mapper.BookMapper;
+import org.example.dto.request.BookPatchRequest;
 import org.example.dto.request.BookRequest;
 import org.example.dto.request.BookUpdateRequest;
+import org.example.dto.response.BookBatchItemResponse;
+import org.example.dto.response.BookBatchResponse;
 import org.example.dto.response.BookResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.CursorPage;
 import org.example.entity.Book;
 import org.example.exception.BookNotFoundException;
+import org.example.exception.BookVersionMismatchException;
+import org.example.exception.InvalidCursorException;
+import org.example.repository.BookFilter;
+import org.example.repository.BookSort;
+import org.example.repository.BookVersion;
 import org.example.service.BookService;
+import org.example.service.Versioned;
 import org.example.utils.data.BookData;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -66,19 +86,251 @@ public class BookControllerTest {
         verifyNoMoreInteractions(bookService, bookMapper);
     }
 
+    @Test
+    @DisplayName("POST /books/batch - возвращает результат по каждой книге")
+    void createBooks_validBatch_returnsItemResults() throws Exception {
+        List<BookRequest> requests = List.of(BookData.DEFAULT_REQUEST, BookData.request().withAuthorId(42L).build());
+        BookBatchResponse response = new BookBatchResponse(1, 1, List.of(
+                new BookBatchItemResponse(0, HttpStatus.CREATED.toString(), BookData.DEFAULT_RESPONSE, null),
+                new BookBatchItemResponse(1, HttpStatus.NOT_FOUND.toString(), null, "Author with id=42 not found")
+        ));
+
+        when(bookService.createBatch(requests)).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].book.id").value(1))
+                .andExpect(jsonPath("$.items[1].code").value(HttpStatus.NOT_FOUND.toString()))
+                .andDo(print());
+
+        verify(bookService).createBatch(requests);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("POST /books/batch - 400 при пустом пакете")
+    void createBooks_emptyBatch_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.toString()));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books?limit&sort - возвращает порцию книг и курсор")
+    void getSliceOfBooks_validParams_returnsSlice() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+
+        when(bookService.getSlice(null, BookSort.TITLE, BookFilter.NONE, 1))
+                .thenReturn(new CursorPage<>(List.of(entity), true, "cursor"));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("limit", "1")
+                        .param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(response.id()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("cursor"))
+                .andDo(print());
+
+        verify(bookService).getSlice(null, BookSort.TITLE, BookFilter.NONE, 1);
+        verify(bookMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books?genre&yearFrom&yearTo&authorId - передаёт фильтр в сервис")
+    void getSliceOfBooks_withFilter_passesFilterToService() throws Exception {
+        BookFilter filter = new BookFilter("Novel", 1900, 1950, 7L);
+        when(bookService.getSlice(null, null, filter, 20)).thenReturn(new CursorPage<>(List.of(), false, null));
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("genre", "Novel")
+                        .param("yearFrom", "1900")
+                        .param("yearTo", "1950")
+                        .param("authorId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(bookService).getSlice(null, null, filter, 20);
+        verifyNoMoreInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books?after - 400 при неверном курсоре")
+    void getSliceOfBooks_whenCursorInvalid_returns400() throws Exception {
+        when(bookService.getSlice("broken", null, BookFilter.NONE, 20)).thenThrow(new InvalidCursorException("Malformed cursor: broken"));
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("after", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.toString()))
+                .andExpect(jsonPath("$.message").value(containsString("cursor")));
+    }
+
+    @Test
+    @DisplayName("GET /books?ids=&unpaged=true - 400 вместо неоднозначного выбора метода")
+    void getBooks_idsWithUnpaged_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/books")
+                        .param("ids", "1,2")
+                        .param("unpaged", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.toString()));
+
+        verifyNoInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books?unpaged=true - возвращает полный список")
+    void getListOfBooks_unpaged_returnsList() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+
+        when(bookService.getList()).thenReturn(List.of(entity));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(response.id()))
+                .andDo(print());
+
+        verify(bookService).getList();
+        verify(bookMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books/search - возвращает страницу найденных книг")
+    void searchBooks_validQuery_returnsPage() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+        PageRequest pageRequest = PageRequest.of(1, 10);
+
+        when(bookService.search("title", pageRequest)).thenReturn(new PageImpl<>(List.of(entity), pageRequest, 11));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books/search")
+                        .param("q", "title")
+                        .param("page", "2")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(response.id()))
+                .andExpect(jsonPath("$.totalElements").value(11))
+                .andDo(print());
+
+        verify(bookService).search("title", pageRequest);
+        verify(bookMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books/search - 400 при пустом запросе")
+    void searchBooks_blankQuery_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/books/search")
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books/search - 400 при слишком большом номере страницы")
+    void searchBooks_pageTooLarge_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/books/search")
+                        .param("q", "title")
+                        .param("page", "2147483647"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books?ids - возвращает найденные книги и список ненайденных id")
+    void getBooksByIds_returnsFoundAndMissing() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+
+        when(bookService.getByIds(List.of(1L, 42L))).thenReturn(new MultiGetResponse<>(List.of(entity), List.of(42L)));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("ids", "1,42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(response.id()))
+                .andExpect(jsonPath("$.missing[0]").value(42))
+                .andDo(print());
+
+        verify(bookService).getByIds(List.of(1L, 42L));
+        verify(bookMapper).entityToResponse(entity);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books?ids - 400 при слишком длинном списке")
+    void getBooksByIds_tooManyIds_returns400() throws Exception {
+        String ids = String.join(",", Collections.nCopies(101, "1"));
+
+        mockMvc.perform(get("/api/v1/books")
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books/export - выгружает книги построчно в NDJSON")
+    void exportBooks_streamsNdjson() throws Exception {
+        Book first = BookData.DEFAULT_ENTITY;
+        Book second = BookData.entity().withId(2L).withTitle("Book").build();
+        BookResponse firstResponse = BookData.DEFAULT_RESPONSE;
+        BookResponse secondResponse = BookData.response().withId(2L).withTitle("Book").build();
+
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(bookService).exportAll(any());
+        when(bookMapper.entityToResponse(first)).thenReturn(firstResponse);
+        when(bookMapper.entityToResponse(second)).thenReturn(secondResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(firstResponse) + "\n"
+                                + objectMapper.writeValueAsString(secondResponse) + "\n"
+                ));
+    }
+
     @Test
     @DisplayName("GET /books/{id} - существующая книга возвращается 200")
     void getBookById_existingBook_returns200AndBody() throws Exception {
         Long id = 1L;
-        Book entity = BookData.DEFAULT_ENTITY;
         BookResponse response = BookData.DEFAULT_RESPONSE;
 
-        when(bookService.getById(id)).thenReturn(entity);
-        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+        when(bookService.getVersion(id)).thenReturn(new BookVersion(3L, 7L));
+        when(bookService.getResponseById(id)).thenReturn(new Versioned<>(response, new BookVersion(3L, 7L)));
 
         mockMvc.perform(get("/api/v1/books/{id}", id)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.7\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.title").value("Title"))
@@ -86,8 +338,97 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.year").value(response.publishedYear()))
                 .andDo(print());
 
-        verify(bookService).getById(id);
-        verify(bookMapper).entityToResponse(entity);
+        verify(bookService).getVersion(id);
+        verify(bookService).getResponseById(id);
+        verifyNoMoreInteractions(bookService, bookMapper);
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - по Accept: application/cbor отдаёт то же представление в CBOR")
+    void getBookById_whenCborAccepted_returnsCbor() throws Exception {
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+        when(bookService.getVersion(1L)).thenReturn(new BookVersion(3L, 7L));
+        when(bookService.getResponseById(1L)).thenReturn(new Versioned<>(response, new BookVersion(3L, 7L)));
+
+        byte[] body = mockMvc.perform(get("/api/v1/books/{id}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"3.7+cbor\""))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(response)), new CBORMapper().readTree(body));
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - без Accept ответ остаётся JSON")
+    void getBookById_withoutAccept_returnsJson() throws Exception {
+        when(bookService.getVersion(1L)).thenReturn(new BookVersion(3L, 7L));
+        when(bookService.getResponseById(1L)).thenReturn(new Versioned<>(BookData.DEFAULT_RESPONSE, new BookVersion(3L, 7L)));
+
+        mockMvc.perform(get("/api/v1/books/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"3.7\""));
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - ETag JSON не даёт 304 клиенту, запросившему CBOR")
+    void getBookById_jsonETagWithCborAccept_returnsCbor() throws Exception {
+        when(bookService.getVersion(1L)).thenReturn(new BookVersion(3L, 7L));
+        when(bookService.getResponseById(1L)).thenReturn(new Versioned<>(BookData.DEFAULT_RESPONSE, new BookVersion(3L, 7L)));
+
+        mockMvc.perform(get("/api/v1/books/{id}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"3.7\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - 304 для CBOR по ETag CBOR, с Vary: Accept")
+    void getBookById_cborETagMatches_returns304() throws Exception {
+        when(bookService.getVersion(1L)).thenReturn(new BookVersion(3L, 7L));
+
+        mockMvc.perform(get("/api/v1/books/{id}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"3.7+cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.7+cbor\""))
+                .andExpect(header().string("Vary", containsString("Accept")));
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - устаревший ответ из кэша перечитывается, ETag соответствует телу")
+    void getBookById_whenCachedVersionIsStale_reloadsResponse() throws Exception {
+        Long id = 1L;
+        BookResponse fresh = BookData.response().withTitle("Fresh").build();
+        when(bookService.getVersion(id)).thenReturn(new BookVersion(4L, 7L));
+        when(bookService.getResponseById(id)).thenReturn(new Versioned<>(BookData.DEFAULT_RESPONSE, new BookVersion(3L, 7L)));
+        when(bookService.reloadResponseById(id)).thenReturn(new Versioned<>(fresh, new BookVersion(4L, 7L)));
+
+        mockMvc.perform(get("/api/v1/books/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.7\""))
+                .andExpect(jsonPath("$.title").value("Fresh"));
+
+        verify(bookService).reloadResponseById(id);
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - 304 без загрузки книги, если ETag совпал")
+    void getBookById_whenETagMatches_returns304() throws Exception {
+        Long id = 1L;
+        when(bookService.getVersion(id)).thenReturn(new BookVersion(3L, 7L));
+
+        mockMvc.perform(get("/api/v1/books/{id}", id)
+                        .header("If-None-Match", "\"3.7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.7\""))
+                .andExpect(content().string(""));
+
+        verify(bookService).getVersion(id);
         verifyNoMoreInteractions(bookService, bookMapper);
     }
 
@@ -116,6 +457,7 @@ public class BookControllerTest {
                         .content(objectMapper.writeValueAsString(updateRequest))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0.0\""))
                 .andExpect(jsonPath("$.id").value(response.id()))
                 .andExpect(jsonPath("$.title").value(response.title()))
                 .andExpect(jsonPath("$.author.id").value(response.author().id()))
@@ -130,6 +472,83 @@ public class BookControllerTest {
         verifyNoMoreInteractions(bookService, bookMapper);
     }
 
+    @Test
+    @DisplayName("PATCH /books/{id} - передаёт версию книги из If-Match и возвращает новый ETag")
+    void patchBook_withIfMatch_returns200AndETag() throws Exception {
+        Long id = 1L;
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookPatchRequest request = new BookPatchRequest("New Title", null, null, null);
+        BookResponse response = BookData.response().withTitle("New Title").build();
+
+        when(bookService.patch(id, 3L, request)).thenReturn(entity);
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        mockMvc.perform(patch("/api/v1/books/{id}", id)
+                        .header("If-Match", "\"3.7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0.0\""))
+                .andExpect(jsonPath("$.title").value("New Title"));
+
+        verify(bookService).patch(id, 3L, request);
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{id} - 428 без If-Match")
+    void patchBook_withoutIfMatch_returns428() throws Exception {
+        mockMvc.perform(patch("/api/v1/books/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New Title\"}"))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.code").value(HttpStatus.PRECONDITION_REQUIRED.toString()));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{id} - 412, если книга изменилась после получения ETag")
+    void patchBook_whenVersionChanged_returns412() throws Exception {
+        BookPatchRequest request = new BookPatchRequest(null, null, 2001, null);
+        when(bookService.patch(1L, 3L, request)).thenThrow(new BookVersionMismatchException(1L, 3L));
+
+        mockMvc.perform(patch("/api/v1/books/{id}", 1L)
+                        .header("If-Match", "\"3.7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(HttpStatus.PRECONDITION_FAILED.toString()));
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{id} - If-Match: * обновляет без проверки версии")
+    void patchBook_withWildcard_patchesWithoutVersion() throws Exception {
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookPatchRequest request = new BookPatchRequest(null, null, null, "Drama");
+        when(bookService.patch(1L, null, request)).thenReturn(entity);
+        when(bookMapper.entityToResponse(entity)).thenReturn(BookData.DEFAULT_RESPONSE);
+
+        mockMvc.perform(patch("/api/v1/books/{id}", 1L)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(bookService).patch(1L, null, request);
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{id} - 400 на пустое название без обращения к сервису")
+    void patchBook_withBlankTitle_returns400() throws Exception {
+        mockMvc.perform(patch("/api/v1/books/{id}", 1L)
+                        .header("If-Match", "\"3.7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"   \"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
     @Test
     @DisplayName("DELETE /books/{id} - существующая книга возвращается 204")
     void deleteBook_existing_returns204() throws Exception {
@@ -148,7 +567,7 @@ public class BookControllerTest {
     @DisplayName("GET /books/{id} — 404 при несуществующей книге")
     void getBookById_WhenNotFound_ShouldReturn404() throws Exception {
         Long id = 42L;
-        when(bookService.getById(id)).thenThrow(new BookNotFoundException(id));
+        when(bookService.getVersion(id)).thenThrow(new BookNotFoundException(id));
 
         mockMvc.perform(get("/api/v1/books/{id}", id)
                         .accept(MediaType.APPLICATION_JSON))
@@ -177,6 +596,44 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.message").value(containsString("parse error")));
     }
 
+    @Test
+    @DisplayName("DELETE /books/{id} - 404, если команда не удалила ни одной строки")
+    void deleteBook_whenNothingDeleted_returns404() throws Exception {
+        when(bookService.deleteById(42L)).thenReturn(false);
+
+        mockMvc.perform(delete("/api/v1/books/{id}", 42L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("DELETE /books?authorId=&genre= - возвращает число удалённых книг")
+    void deleteBooks_byFilter_returnsDeletedCount() throws Exception {
+        when(bookService.deleteMatching(null, 1L, "Drama")).thenReturn(3);
+
+        mockMvc.perform(delete("/api/v1/books").param("authorId", "1").param("genre", "Drama"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+    }
+
+    @Test
+    @DisplayName("DELETE /books?ids= - удаляет книги по списку id")
+    void deleteBooks_byIds_returnsDeletedCount() throws Exception {
+        when(bookService.deleteMatching(List.of(1L, 2L), null, null)).thenReturn(2);
+
+        mockMvc.perform(delete("/api/v1/books").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /books - 400 без условий, чтобы не удалить весь каталог")
+    void deleteBooks_withoutConditions_returns400() throws Exception {
+        mockMvc.perform(delete("/api/v1/books"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
     @Test
     @DisplayName("DELETE /books/{id} - 404 при несуществующей книге")
     void deleteBook_WhenNotExists_ShouldReturn404() throws Exception {
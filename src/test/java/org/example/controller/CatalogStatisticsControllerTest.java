@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import org.example.dto.response.CatalogStatisticsResponse;
+import org.example.service.CatalogStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CatalogStatisticsController.class)
+public class CatalogStatisticsControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    CatalogStatistics statistics;
+
+    @Test
+    @DisplayName("GET /books/statistics - возвращает счётчики по жанрам и годам")
+    void getStatistics_returnsCounters() throws Exception {
+        when(statistics.get()).thenReturn(new CatalogStatisticsResponse(
+                3, Map.of("Novel", 2L, "Poetry", 1L), Map.of(1869, 3L)));
+
+        mockMvc.perform(get("/api/v1/books/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byGenre.Novel").value(2))
+                .andExpect(jsonPath("$.byYear.1869").value(3))
+                .andDo(print());
+    }
+}
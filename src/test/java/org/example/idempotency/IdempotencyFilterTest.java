@@ -0,0 +1,170 @@
+package org.example.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new ObjectMapper(), 64);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    @DisplayName("Повтор с тем же ключом получает сохранённый ответ без повторного выполнения")
+    void doFilter_retryWithSameKey_replaysStoredResponse() throws Exception {
+        MockHttpServletResponse first = perform(post("key-1", "{\"name\":\"Author\"}"), created());
+        MockHttpServletResponse retry = perform(post("key-1", "{\"name\":\"Author\"}"), created());
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("/api/v1/authors/1", retry.getHeader("Location"));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Контроллер читает то же тело, по которому посчитан отпечаток")
+    void doFilter_passesBodyToChain() throws Exception {
+        StringBuilder seen = new StringBuilder();
+        perform(post("key-2", "{\"name\":\"Author\"}"), (req, res) ->
+                seen.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertEquals("{\"name\":\"Author\"}", seen.toString());
+    }
+
+    @Test
+    @DisplayName("Тот же ключ с другим телом — 422 без выполнения")
+    void doFilter_sameKeyDifferentBody_returns422() throws Exception {
+        perform(post("key-3", "{\"name\":\"A\"}"), created());
+        MockHttpServletResponse other = perform(post("key-3", "{\"name\":\"B\"}"), created());
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Пока первый запрос выполняется, повтор получает 409")
+    void doFilter_whileInProgress_returns409() throws Exception {
+        MockHttpServletResponse[] concurrent = new MockHttpServletResponse[1];
+        perform(post("key-4", "{}"), (req, res) -> {
+            try {
+                concurrent[0] = perform(post("key-4", "{}"), created());
+            } catch (Exception ex) {
+                throw new IOException(ex);
+            }
+        });
+
+        assertEquals(409, concurrent[0].getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Неуспешный ответ не сохраняется: повтор выполняется заново")
+    void doFilter_failedResponse_isNotStored() throws Exception {
+        perform(post("key-5", "{}"), (req, res) -> ((HttpServletResponse) res).setStatus(500));
+        MockHttpServletResponse retry = perform(post("key-5", "{}"), created());
+
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    @DisplayName("Тело больше лимита — 413 без выполнения и без резервирования ключа")
+    void doFilter_bodyOverLimit_returns413() throws Exception {
+        MockHttpServletResponse response = perform(post("key-6", "x".repeat(65)), created());
+        MockHttpServletResponse retry = perform(post("key-6", "{}"), created());
+
+        assertEquals(413, response.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Неблокирующее чтение тела: слушатель сразу получает данные и onAllDataRead")
+    void doFilter_readListener_receivesWholeBody() throws Exception {
+        StringBuilder seen = new StringBuilder();
+        perform(post("key-7", "{\"name\":\"Author\"}"), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    seen.append(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    seen.append("|done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    seen.append("|error");
+                }
+            });
+        });
+
+        assertEquals("{\"name\":\"Author\"}|done", seen.toString());
+    }
+
+    @Test
+    @DisplayName("Без заголовка запрос проходит как обычно")
+    void doFilter_withoutKey_executesEveryTime() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/authors");
+        perform(request, created());
+        perform(new MockHttpServletRequest("POST", "/api/v1/authors"), created());
+
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/authors");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private Handler created() {
+        return (req, res) -> {
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(201);
+            response.setHeader("Location", "/api/v1/authors/1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + executions.get() + "}");
+        };
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, Handler handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                executions.incrementAndGet();
+                handler.handle(req, res);
+            }
+        });
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(ServletRequest request, ServletResponse response) throws IOException;
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.reactive;
+
+import org.example.dto.request.BookRequest;
+import org.example.dto.request.BookUpdateRequest;
+import org.example.exception.BookNotFoundException;
+import org.example.utils.data.BookData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ReactiveBookController.class)
+class ReactiveBookControllerTest {
+    private static final BookView VIEW = new BookView(1L, "Title", 1970, "Unknown", 1L, "Author", 1970);
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockitoBean
+    ReactiveBookService bookService;
+
+    @Test
+    @DisplayName("POST /books - 201 и Location новой книги")
+    void createBook_validRequest_returns201() {
+        BookRequest request = BookData.DEFAULT_REQUEST;
+        when(bookService.create(request)).thenReturn(Mono.just(VIEW));
+
+        webTestClient.post().uri("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", endsWith("/api/v1/books/1"))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.author.name").isEqualTo("Author")
+                .jsonPath("$.year").isEqualTo(1970);
+    }
+
+    @Test
+    @DisplayName("POST /books - 400 при валидации: пустое название")
+    void createBook_whenTitleBlank_returns400() {
+        BookRequest request = BookData.request().withTitle("").build();
+
+        webTestClient.post().uri("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation Error")
+                .jsonPath("$.errors.title").exists();
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /books?afterId&limit - JSON-массив порции")
+    void getSliceOfBooks_returnsArray() {
+        when(bookService.getSlice(10L, 5)).thenReturn(Flux.just(VIEW));
+
+        webTestClient.get().uri("/api/v1/books?afterId=10&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$.length()").isEqualTo(1);
+
+        verify(bookService).getSlice(10L, 5);
+    }
+
+    @Test
+    @DisplayName("GET /books/export - NDJSON, одна книга в строке")
+    void exportBooks_streamsNdjson() {
+        when(bookService.exportAll()).thenReturn(Flux.just(VIEW, VIEW));
+
+        webTestClient.get().uri("/api/v1/books/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Object.class).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("GET /books/{id} - 404 при несуществующей книге")
+    void getBookById_whenNotFound_returns404() {
+        when(bookService.getById(42L)).thenReturn(Mono.error(new BookNotFoundException(42L)));
+
+        webTestClient.get().uri("/api/v1/books/{id}", 42)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.NOT_FOUND.toString());
+    }
+
+    @Test
+    @DisplayName("DELETE /books/{id} - 204")
+    void deleteBook_returns204() {
+        when(bookService.deleteById(1L)).thenReturn(Mono.just(true));
+
+        webTestClient.delete().uri("/api/v1/books/{id}", 1)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("DELETE /books/{id} - 404 при несуществующей книге")
+    void deleteBook_whenNotFound_returns404() {
+        when(bookService.deleteById(42L)).thenReturn(Mono.just(false));
+
+        webTestClient.delete().uri("/api/v1/books/{id}", 42)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.NOT_FOUND.toString());
+    }
+
+    @Test
+    @DisplayName("PUT /books/{id} - 409 при параллельном изменении")
+    void updateBook_whenOptimisticLockFails_returns409() {
+        when(bookService.update(eq(1L), any()))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        webTestClient.put().uri("/api/v1/books/{id}", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookUpdateRequest("Title", 1L, 1970, "Unknown"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.CONFLICT.toString());
+    }
+}
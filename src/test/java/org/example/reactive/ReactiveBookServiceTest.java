@@ -0,0 +1,165 @@
+package org.example.reactive;
+
+import org.example.dto.request.BookRequest;
+import org.example.dto.request.BookUpdateRequest;
+import org.example.exception.AuthorNotFoundException;
+import org.example.exception.BookNotFoundException;
+import org.example.search.BookDocument;
+import org.example.search.BooksChangedEvent;
+import org.example.service.GenreDictionary;
+import org.example.utils.data.BookData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBookServiceTest {
+    private static final AuthorRow AUTHOR = new AuthorRow(1L, 0L, "Author", 1970, 0, null, null);
+    private static final short UNKNOWN_GENRE = 1;
+    private static final short OLD_GENRE = 2;
+
+    @Mock
+    BookRowRepository bookRepository;
+
+    @Mock
+    AuthorRowRepository authorRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    GenreDictionary genres;
+
+    @InjectMocks
+    ReactiveBookService bookService;
+
+    @Test
+    @DisplayName("create: берёт id из последовательности, сохраняет книгу и публикует событие для индекса")
+    void create_whenAuthorExists_savesRowAndPublishesEvent() {
+        BookRequest request = BookData.DEFAULT_REQUEST;
+        when(authorRepository.findById(request.authorId())).thenReturn(Mono.just(AUTHOR));
+        when(genres.idOf("Unknown")).thenReturn(UNKNOWN_GENRE);
+        when(genres.nameOf(UNKNOWN_GENRE)).thenReturn("Unknown");
+        when(bookRepository.nextId()).thenReturn(Mono.just(7L));
+        when(bookRepository.save(any(BookRow.class))).thenAnswer(invocation -> {
+            BookRow row = invocation.getArgument(0);
+            row.setVersion(0L);
+            return Mono.just(row);
+        });
+        when(authorRepository.refreshBookStats(1L)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(bookService.create(request))
+                .expectNext(new BookView(7L, request.title(), request.publishedYear(), request.genre(),
+                        1L, "Author", 1970))
+                .verifyComplete();
+
+        verify(authorRepository).refreshBookStats(1L);
+        verify(eventPublisher).publishEvent(BooksChangedEvent.indexed(List.of(
+                new BookDocument(7L, request.title(), request.genre(), "Author"))));
+    }
+
+    @Test
+    @DisplayName("create: ошибка AuthorNotFoundException без обращения к таблице книг")
+    void create_whenAuthorMissing_emitsAuthorNotFound() {
+        BookRequest request = BookData.DEFAULT_REQUEST;
+        when(authorRepository.findById(request.authorId())).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.create(request))
+                .expectError(AuthorNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(bookRepository, eventPublisher, genres);
+    }
+
+    @Test
+    @DisplayName("getSlice: отдаёт строки по мере запроса подписчиком")
+    void getSlice_respectsDemand() {
+        BookView first = new BookView(1L, "A", 1970, "Unknown", 1L, "Author", 1970);
+        BookView second = new BookView(2L, "B", 1970, "Unknown", 1L, "Author", 1970);
+        when(bookRepository.findSliceWithAuthor(0L, 20)).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(bookService.getSlice(0L, 20), 1)
+                .expectNext(first)
+                .thenRequest(1)
+                .expectNext(second)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getById: ошибка BookNotFoundException, если книги нет")
+    void getById_whenMissing_emitsBookNotFound() {
+        when(bookRepository.findWithAuthorById(42L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.getById(42L))
+                .expectError(BookNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("update: меняет поля строки, сохраняет её и пересчитывает агрегаты прежнего и нового автора")
+    void update_whenBookAndAuthorExist_savesChangedRow() {
+        BookUpdateRequest request = BookData.DEFAULT_UPDATE_REQUEST;
+        BookRow row = new BookRow(5L, 3L, "Old", 2L, 1900, OLD_GENRE);
+        when(bookRepository.findById(5L)).thenReturn(Mono.just(row));
+        when(authorRepository.findById(request.authorId())).thenReturn(Mono.just(AUTHOR));
+        when(genres.idOf("Unknown")).thenReturn(UNKNOWN_GENRE);
+        when(genres.nameOf(OLD_GENRE)).thenReturn("Old");
+        when(genres.nameOf(UNKNOWN_GENRE)).thenReturn("Unknown");
+        when(bookRepository.save(row)).thenReturn(Mono.just(row));
+        when(authorRepository.refreshBookStats(anyLong())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(bookService.update(5L, request))
+                .expectNextMatches(view -> view.title().equals(request.title()) && view.genre().equals(request.genre()))
+                .verifyComplete();
+
+        verify(bookRepository).save(row);
+        assertEquals(UNKNOWN_GENRE, row.getGenreId());
+        verify(authorRepository).refreshBookStats(2L);
+        verify(authorRepository).refreshBookStats(1L);
+        verify(eventPublisher).publishEvent(any(BooksChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("deleteById: удаляет существующую книгу и убирает её из индекса")
+    void deleteById_whenExists_deletesAndPublishesEvent() {
+        BookRow row = new BookRow(5L, 0L, "Title", 1L, 1970, UNKNOWN_GENRE);
+        when(bookRepository.findById(5L)).thenReturn(Mono.just(row));
+        when(genres.nameOf(UNKNOWN_GENRE)).thenReturn("Unknown");
+        when(bookRepository.delete(row)).thenReturn(Mono.empty());
+        when(authorRepository.refreshBookStats(1L)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(bookService.deleteById(5L))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(authorRepository).refreshBookStats(1L);
+        verify(eventPublisher).publishEvent(BooksChangedEvent.removed(5L));
+    }
+
+    @Test
+    @DisplayName("deleteById: false без удаления, если книги нет")
+    void deleteById_whenMissing_returnsFalse() {
+        when(bookRepository.findById(5L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(bookService.deleteById(5L))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(bookRepository, never()).delete(any(BookRow.class));
+        verifyNoInteractions(authorRepository, eventPublisher);
+    }
+}
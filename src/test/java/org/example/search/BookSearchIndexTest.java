@@ -0,0 +1,113 @@
+package org.example.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new BookSearchIndex();
+        index.index(List.of(
+                new BookDocument(1L, "War and Peace", "Novel", "Leo Tolstoy"),
+                new BookDocument(2L, "Anna Karenina", "Novel", "Leo Tolstoy"),
+                new BookDocument(3L, "Peace Talks", "War", "Jim Butcher")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("search: совпадение в названии ранжируется выше совпадения в жанре")
+    void search_titleMatchRanksAboveGenreMatch() {
+        Page<Long> result = index.search("war", PageRequest.of(0, 10));
+
+        assertIterableEquals(List.of(1L, 3L), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("search: слова запроса объединяются по И и ищутся во всех полях")
+    void search_allTermsMustMatchAcrossFields() {
+        Page<Long> result = index.search("tolstoy anna", PageRequest.of(0, 10));
+
+        assertIterableEquals(List.of(2L), result.getContent());
+    }
+
+    @Test
+    @DisplayName("search: отдаёт запрошенную страницу и общее число совпадений")
+    void search_returnsRequestedPage() {
+        Page<Long> result = index.search("tolstoy", PageRequest.of(1, 1));
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("search: страницы идут подряд без повторов, страница за последним совпадением пуста")
+    void search_pagesThroughAllHits() {
+        Page<Long> first = index.search("peace", PageRequest.of(0, 1));
+        Page<Long> second = index.search("peace", PageRequest.of(1, 1));
+        Page<Long> beyond = index.search("peace", PageRequest.of(5, 1));
+
+        Set<Long> seen = new HashSet<>(first.getContent());
+        seen.addAll(second.getContent());
+        assertEquals(Set.of(1L, 3L), seen);
+        assertTrue(beyond.getContent().isEmpty());
+        assertEquals(2, beyond.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("index: повторная индексация заменяет документ, remove удаляет его")
+    void index_replacesAndRemoveDeletes() {
+        index.index(List.of(new BookDocument(1L, "Resurrection", "Novel", "Leo Tolstoy")));
+        assertIterableEquals(List.of(3L), index.search("war", PageRequest.of(0, 10)).getContent());
+
+        index.remove(List.of(1L));
+        assertIterableEquals(List.of(2L), index.search("tolstoy", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("rebuild: заменяет содержимое индекса")
+    void rebuild_replacesContent() {
+        index.rebuild(sink -> sink.accept(new BookDocument(4L, "Dune", "Science Fiction", "Frank Herbert")));
+
+        assertTrue(index.search("tolstoy", PageRequest.of(0, 10)).isEmpty());
+        assertIterableEquals(List.of(4L), index.search("dune", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("rebuild: до подмены поиск видит прежний индекс, изменения во время перестроения не теряются")
+    void rebuild_replaysChangesMadeDuringRebuild() {
+        index.rebuild(sink -> {
+            sink.accept(new BookDocument(1L, "War and Peace", "Novel", "Leo Tolstoy"));
+            sink.accept(new BookDocument(2L, "Anna Karenina", "Novel", "Leo Tolstoy"));
+            // книги 1 и 2 изменены и удалены уже после того, как попали в выгрузку
+            index.remove(List.of(2L));
+            index.index(List.of(new BookDocument(1L, "Resurrection", "Novel", "Leo Tolstoy")));
+            assertIterableEquals(List.of(3L), index.search("peace", PageRequest.of(0, 10)).getContent());
+        });
+
+        assertIterableEquals(List.of(1L), index.search("tolstoy", PageRequest.of(0, 10)).getContent());
+        assertIterableEquals(List.of(1L), index.search("resurrection", PageRequest.of(0, 10)).getContent());
+        assertTrue(index.search("peace", PageRequest.of(0, 10)).isEmpty());
+    }
+}
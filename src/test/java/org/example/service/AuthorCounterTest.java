@@ -0,0 +1,43 @@
+package org.example.service;
+
+import org.example.repository.AuthorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorCounterTest {
+
+    @Mock
+    private AuthorRepository repository;
+
+    @InjectMocks
+    private AuthorCounter counter;
+
+    @Test
+    @DisplayName("get: считает авторов один раз, дальше прибавляет созданных")
+    void get_countsOnceThenAddsCreated() {
+        when(repository.count()).thenReturn(10L);
+
+        assertEquals(10L, counter.get());
+        counter.onAuthorsCreated(new AuthorsCreatedEvent(3));
+        assertEquals(13L, counter.get());
+
+        verify(repository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("onAuthorsCreated: до первого подсчёта событие пропускается, его учтёт сам подсчёт")
+    void onAuthorsCreated_beforeFirstCount_isCoveredByCount() {
+        counter.onAuthorsCreated(new AuthorsCreatedEvent(3));
+        when(repository.count()).thenReturn(13L);
+
+        assertEquals(13L, counter.get());
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.mapper.AuthorMapperImpl;
+import org.example.entity.Author;
+import org.example.repository.AuthorRepository;
+import org.example.repository.BookRepository;
+import org.example.utils.data.AuthorData;
+import org.example.utils.data.BookData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Кэш второго уровня виден только следующим транзакциям, поэтому каждое обращение к сервису
+ * здесь идёт в своей транзакции, а данные удаляются после теста.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuthorService.class, AuthorMapperImpl.class, LocalValidatorFactoryBean.class, AuthorCounter.class,
+        GenreDictionary.class})
+class AuthorSecondLevelCacheTest {
+
+    @Autowired
+    AuthorService authorService;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    GenreDictionary genres;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    SessionFactory sessionFactory;
+    Statistics statistics;
+    List<Author> authors;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        List<Author> toSave = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            toSave.add(AuthorData.entity()
+                    .withId(null)
+                    .withVersion(null)
+                    .withName("Cached " + i)
+                    .build());
+        }
+        authors = new TransactionTemplate(transactionManager).execute(status -> authorRepository.saveAll(toSave));
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookRepository.deleteAllInBatch();
+            authorRepository.deleteAllInBatch();
+        });
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("getById: повторное чтение автора идёт из кэша второго уровня, без запросов")
+    void getById_secondReadHitsCache() {
+        Long id = authors.get(0).getId();
+
+        authorService.getById(id);
+        statistics.clear();
+        Author cached = authorService.getById(id);
+
+        assertThat(cached.getName()).isEqualTo(authors.get(0).getName());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Author.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getPage: повторная страница и COUNT(*) берутся из кэша запросов")
+    void getPage_secondReadHitsQueryCache() {
+        authorService.getPage(PageRequest.of(0, 10));
+        statistics.clear();
+        Page<Author> page = authorService.getPage(PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(15);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("refreshBookStats: запись книги обновляет в кэше только её автора, остальные авторы остаются в кэше")
+    void bookWrite_keepsOtherAuthorsCached() {
+        Author author = authors.get(0);
+        Author other = authors.get(1);
+        authorService.getById(author.getId());
+        authorService.getById(other.getId());
+        authorService.getPage(PageRequest.of(0, 10));
+
+        genres.resolve(BookData.DEFAULT_ENTITY.getGenre());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookRepository.save(BookData.entity()
+                    .withId(null)
+                    .withVersion(null)
+                    .withAuthor(authorRepository.getReferenceById(author.getId()))
+                    .build());
+            authorRepository.refreshBookStats(List.of(author.getId()));
+        });
+        statistics.clear();
+        Author updated = authorService.getById(author.getId());
+        Author cached = authorService.getById(other.getId());
+
+        assertThat(updated.getBookCount()).isEqualTo(1);
+        assertThat(updated.getVersion()).isEqualTo(author.getVersion());
+        assertThat(cached.getBookCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Author.CACHE_REGION).getHitCount()).isEqualTo(2);
+
+        // страницы кэша запросов сбрасываются любой записью в таблицу авторов
+        authorService.getPage(PageRequest.of(0, 10));
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.dto.mapper.AuthorMapperImpl;
+import org.example.dto.response.pagination.SlicePage;
+import org.example.entity.Author;
+import org.example.utils.data.AuthorData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({AuthorService.class, AuthorMapperImpl.class, LocalValidatorFactoryBean.class, AuthorCounter.class})
+class AuthorServiceQueryCountTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    AuthorService authorService;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        for (int i = 0; i < 25; i++) {
+            entityManager.persist(AuthorData.entity()
+                    .withId(null)
+                    .withVersion(null)
+                    .withName("Author " + (char) ('a' + i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getPage: кроме выборки страницы выполняет COUNT(*)")
+    void getPage_runsCountQuery() {
+        Page<Author> page = authorService.getPage(PageRequest.of(1, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getSlice: глубокие страницы читаются одним запросом, общее число считается однажды")
+    void getSlice_countsTotalOnlyOnce() {
+        SlicePage<Author> first = authorService.getSlice(PageRequest.of(0, 10));
+        statistics.clear();
+        SlicePage<Author> second = authorService.getSlice(PageRequest.of(1, 10));
+        SlicePage<Author> last = authorService.getSlice(PageRequest.of(2, 10));
+
+        assertThat(first.approximateTotal()).isEqualTo(25);
+        assertThat(second.hasNext()).isTrue();
+        assertThat(last.content()).hasSize(5);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
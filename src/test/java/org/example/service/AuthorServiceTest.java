@@ -1,10 +1,16 @@
 package org.example.service;
 
+import jakarta.validation.Validator;
 import org.example.dto.mapper.AuthorMapper;
 import org.example.dto.request.AuthorRequest;
+import org.example.dto.response.AuthorImportResponse;
+import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.SlicePage;
 import org.example.entity.Author;
 import org.example.exception.AuthorNotFoundException;
 import org.example.repository.AuthorRepository;
+import org.example.repository.AuthorVersion;
 import org.example.utils.data.AuthorData;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,16 +19,22 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +46,15 @@ class AuthorServiceTest {
     @Mock
     private AuthorMapper mapper;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private AuthorCounter authorCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorService service;
 
@@ -57,6 +78,43 @@ class AuthorServiceTest {
         inOrder.verify(mapper).requestToEntity(request);
         inOrder.verify(repository).save(mapped);
         inOrder.verifyNoMoreInteractions();
+        verify(eventPublisher).publishEvent(new AuthorsCreatedEvent(1));
+    }
+
+    @Test
+    @DisplayName("importAuthors: находит существующих по имени, создает новых и возвращает id для каждой строки")
+    void importAuthors_mixedNames_resolvesIdForEveryRow() {
+        AuthorRequest existingRequest = AuthorData.request().withName("Author").withBirthYear(1971).build();
+        AuthorRequest newRequest = AuthorData.request().withName("Newcomer").build();
+        AuthorRequest repeatedRequest = AuthorData.request().withName("Newcomer").withBirthYear(null).build();
+        Author existing = AuthorData.entity().build();
+        Author mapped = AuthorData.entity().withId(null).withName("Newcomer").build();
+
+        when(validator.validate(any(AuthorRequest.class))).thenReturn(Set.of());
+        when(repository.findAllByNameIn(Set.of("Author", "Newcomer"))).thenReturn(List.of(existing));
+        when(mapper.requestToEntity(newRequest)).thenReturn(mapped);
+        when(repository.saveAll(List.of(mapped))).thenAnswer(invocation -> {
+            mapped.setId(2L);
+            return List.of(mapped);
+        });
+
+        AuthorImportResponse result = service.importAuthors(List.of(existingRequest, newRequest, repeatedRequest));
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.matched());
+        assertEquals(0, result.failed());
+        assertEquals(1L, result.items().get(0).id());
+        assertEquals("200 OK", result.items().get(0).code());
+        assertEquals(2L, result.items().get(1).id());
+        assertEquals("201 CREATED", result.items().get(1).code());
+        assertEquals(2L, result.items().get(2).id());
+        assertEquals(1971, existing.getBirthYear());
+
+        verify(repository).findAllByNameIn(Set.of("Author", "Newcomer"));
+        verify(repository).saveAll(List.of(mapped));
+        verify(repository).flush();
+        verifyNoMoreInteractions(repository);
+        verify(eventPublisher).publishEvent(new AuthorsCreatedEvent(1));
     }
 
     @Test
@@ -77,6 +135,42 @@ class AuthorServiceTest {
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    @DisplayName("getSlice: возвращает порцию без COUNT(*) и приблизительное общее число из счётчика")
+    void getSlice_validPageRequest_returnsSliceWithApproximateTotal() {
+        PageRequest pageRequest = PageRequest.of(1, 10);
+        Author author = AuthorData.DEFAULT_ENTITY;
+
+        when(repository.findSliceBy(pageRequest)).thenReturn(new SliceImpl<>(List.of(author), pageRequest, true));
+        when(authorCounter.get()).thenReturn(42L);
+
+        SlicePage<Author> result = service.getSlice(pageRequest);
+
+        assertIterableEquals(List.of(author), result.content());
+        assertEquals(2, result.page());
+        assertEquals(10, result.size());
+        assertTrue(result.hasNext());
+        assertEquals(42L, result.approximateTotal());
+
+        verify(repository).findSliceBy(pageRequest);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("getByIds: возвращает авторов в порядке запроса и ненайденные id")
+    void getByIds_returnsAuthorsInRequestOrderAndMissingIds() {
+        Author first = AuthorData.entity().withId(5L).build();
+        Author second = AuthorData.entity().withId(1L).build();
+        when(repository.findAllById(Set.of(5L, 1L, 9L))).thenReturn(List.of(second, first));
+
+        MultiGetResponse<Author> result = service.getByIds(List.of(5L, 9L, 1L));
+
+        assertIterableEquals(List.of(first, second), result.content());
+        assertIterableEquals(List.of(9L), result.missing());
+        verify(repository).findAllById(Set.of(5L, 1L, 9L));
+        verifyNoMoreInteractions(repository);
+    }
+
     @Test
     @DisplayName("getById: при существующем идентификаторе возвращает данные автора")
     void getById_whenExists_returnsEntity() {
@@ -94,6 +188,25 @@ class AuthorServiceTest {
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    @DisplayName("getResponseById: возвращает автора, преобразованного в ответ, с его версией")
+    void getResponseById_whenExists_returnsMappedResponse() {
+        Long id = 1L;
+        Author entity = AuthorData.DEFAULT_ENTITY;
+        AuthorResponse response = AuthorData.DEFAULT_RESPONSE;
+
+        when(repository.findById(id)).thenReturn(Optional.of(entity));
+        when(mapper.entityToResponse(entity)).thenReturn(response);
+
+        Versioned<AuthorResponse, AuthorVersion> result = service.getResponseById(id);
+
+        assertSame(response, result.body());
+        assertEquals(AuthorVersion.of(entity), result.version());
+
+        verify(repository).findById(id);
+        verifyNoMoreInteractions(repository);
+    }
+
     @Test
     @DisplayName("createAuthor: если автора нет в репозитории, бросает AuthorNotFoundException")
     void getById_whenNotFound_throwsAuthorNotFoundException() {
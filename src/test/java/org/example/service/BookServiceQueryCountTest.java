@@ -0,0 +1,261 @@
+package org.example.service;
+
+import org.example.dto.mapper.BookMapper;
+import org.example.dto.mapper.BookMapperImpl;
+import org.example.dto.request.BookPatchRequest;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.entity.Author;
+import org.example.entity.Book;
+import org.example.exception.BookVersionMismatchException;
+import org.example.repository.BookFilter;
+import org.example.repository.BookSort;
+import org.example.search.BookSearchIndex;
+import org.example.utils.data.AuthorData;
+import org.example.utils.data.BookData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookService.class, BookMapperImpl.class, LocalValidatorFactoryBean.class, BookSearchIndex.class,
+        GenreDictionary.class})
+class BookServiceQueryCountTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    BookMapper bookMapper;
+
+    @Autowired
+    GenreDictionary genres;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("getList: один запрос независимо от количества книг")
+    void getList_statementCountDoesNotGrowWithBooks(int count) {
+        persistBooksWithOwnAuthors(count);
+
+        List<BookResponse> result = bookService.getList().stream().map(bookMapper::entityToResponse).toList();
+
+        assertThat(result).hasSize(count);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("getSlice: один запрос независимо от размера порции")
+    void getSlice_statementCountDoesNotGrowWithLimit(int count) {
+        persistBooksWithOwnAuthors(count);
+
+        List<BookResponse> result = bookService.getSlice(null, null, BookFilter.NONE, count).content().stream()
+                .map(bookMapper::entityToResponse)
+                .toList();
+
+        assertThat(result).hasSize(count);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getSlice: фильтр по жанру, годам и автору отбирает только подходящие книги одним запросом")
+    void getSlice_withFilter_returnsMatchingBooksOnly() {
+        List<Book> books = persistBooksWithOwnAuthors(10);
+        Long authorId = books.get(3).getAuthor().getId();
+
+        List<Book> byAuthor = bookService.getSlice(null, null, new BookFilter(null, null, null, authorId), 20).content();
+        List<Book> byGenreAndYears = bookService.getSlice(null, null,
+                new BookFilter(books.get(0).getGenre(), 1900, 2100, null), 20).content();
+        List<Book> outOfRange = bookService.getSlice(null, null, new BookFilter(null, 2101, null, null), 20).content();
+
+        assertThat(byAuthor).extracting(Book::getId).containsExactly(books.get(3).getId());
+        assertThat(byGenreAndYears).hasSize(10);
+        assertThat(outOfRange).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("getSlice: жанр читается из справочника без запросов, у всех книг один экземпляр названия")
+    void getSlice_genreNamesComeFromDictionary() {
+        persistBooksWithOwnAuthors(5);
+
+        List<Book> books = bookService.getSlice(null, null, BookFilter.NONE, 20).content();
+
+        assertThat(books).hasSize(5).allSatisfy(book -> assertThat(book.getGenre())
+                .isSameAs(genres.resolve(BookData.DEFAULT_ENTITY.getGenre())));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    @DisplayName("getById: книга и автор читаются одним запросом")
+    void getById_loadsAuthorInSameStatement(int count) {
+        Long id = persistBooksWithOwnAuthors(count).get(count - 1).getId();
+
+        BookResponse result = bookMapper.entityToResponse(bookService.getById(id));
+
+        assertThat(result.author().name()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("getByIds: книги и авторы одним запросом независимо от числа id")
+    void getByIds_loadsBooksAndAuthorsInOneStatement(int count) {
+        List<Long> ids = new ArrayList<>(persistBooksWithOwnAuthors(count).stream().map(Book::getId).toList());
+        Collections.reverse(ids);
+        ids.add(-1L);
+
+        MultiGetResponse<BookResponse> result = bookService.getByIds(ids).map(bookMapper::entityToResponse);
+
+        assertThat(result.content()).extracting(BookResponse::id).containsExactlyElementsOf(ids.subList(0, count));
+        assertThat(result.content()).allSatisfy(book -> assertThat(book.author().name()).isNotNull());
+        assertThat(result.missing()).containsExactly(-1L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getSliceByAuthor: проверка автора и порция его книг — два запроса")
+    void getSliceByAuthor_usesTwoStatements() {
+        Author author = persistBooksWithOwnAuthors(10).get(4).getAuthor();
+
+        List<Book> result = bookService.getSliceByAuthor(author.getId(), null, BookSort.YEAR, 20).content();
+
+        assertThat(result).extracting(book -> book.getAuthor().getId()).containsOnly(author.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("create, update и deleteById: пересчитывают число книг и годы автора, не меняя его версию")
+    void writes_refreshAuthorStats() {
+        Author author = entityManager.persistFlushFind(AuthorData.entity()
+                .withId(null)
+                .withVersion(null)
+                .withName("Stats")
+                .build());
+        Book first = bookService.create(BookData.request()
+                .withTitle("First").withAuthorId(author.getId()).withPublishedYear(1850).build());
+        Book second = bookService.create(BookData.request()
+                .withTitle("Second").withAuthorId(author.getId()).withPublishedYear(1870).build());
+        bookService.update(second.getId(), BookData.updateRequest()
+                .withTitle("Second").withAuthorId(author.getId()).withPublishedYear(1880).build());
+        bookService.deleteById(first.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Author reloaded = entityManager.find(Author.class, author.getId());
+        assertThat(reloaded.getBookCount()).isEqualTo(1);
+        assertThat(reloaded.getFirstPublishedYear()).isEqualTo(1880);
+        assertThat(reloaded.getLastPublishedYear()).isEqualTo(1880);
+        assertThat(reloaded.getVersion()).isEqualTo(author.getVersion());
+    }
+
+    @Test
+    @DisplayName("patch: название меняется одним UPDATE с проверкой версии, второй запрос читает ответ")
+    void patch_titleOnly_updatesInTwoStatements() {
+        Book book = persistBooksWithOwnAuthors(1).get(0);
+
+        Book patched = bookService.patch(book.getId(), book.getVersion(),
+                new BookPatchRequest("Patched", null, null, null));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(patched.getTitle()).isEqualTo("Patched");
+        assertThat(patched.getVersion()).isEqualTo(book.getVersion() + 1);
+        assertThat(patched.getGenre()).isEqualTo(book.getGenre());
+    }
+
+    @Test
+    @DisplayName("patch: устаревшая версия не меняет книгу и приводит к BookVersionMismatchException")
+    void patch_staleVersion_leavesBookUnchanged() {
+        Book book = persistBooksWithOwnAuthors(1).get(0);
+        bookService.patch(book.getId(), book.getVersion(), new BookPatchRequest(null, null, 2001, null));
+
+        assertThatThrownBy(() -> bookService.patch(book.getId(), book.getVersion(),
+                new BookPatchRequest("Lost update", null, null, null)))
+                .isInstanceOf(BookVersionMismatchException.class);
+        entityManager.clear();
+        Book reloaded = entityManager.find(Book.class, book.getId());
+        assertThat(reloaded.getTitle()).isEqualTo(book.getTitle());
+        assertThat(reloaded.getPublishedYear()).isEqualTo(2001);
+    }
+
+    @Test
+    @DisplayName("deleteById: одна команда DELETE и пересчёт агрегатов автора, без чтения книги")
+    void deleteById_deletesWithoutReading() {
+        Book book = persistBooksWithOwnAuthors(1).get(0);
+
+        assertThat(bookService.deleteById(book.getId())).isTrue();
+        assertThat(bookService.deleteById(book.getId())).isFalse();
+        entityManager.flush();
+
+        // DELETE, блокировка автора, агрегаты и повторный DELETE; агрегаты не изменились, поэтому UPDATE нет
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("deleteMatching: удаляет книги по списку id и по жанру одной командой на запрос")
+    void deleteMatching_deletesMatchingBooksOnly() {
+        List<Book> books = persistBooksWithOwnAuthors(5);
+
+        int byIds = bookService.deleteMatching(List.of(books.get(0).getId(), books.get(1).getId()), null, null);
+        int byAuthorAndGenre = bookService.deleteMatching(null, books.get(2).getAuthor().getId(), books.get(2).getGenre());
+        entityManager.clear();
+
+        assertThat(byIds).isEqualTo(2);
+        assertThat(byAuthorAndGenre).isEqualTo(1);
+        assertThat(entityManager.find(Book.class, books.get(3).getId())).isNotNull();
+        assertThat(entityManager.find(Book.class, books.get(2).getId())).isNull();
+    }
+
+    private List<Book> persistBooksWithOwnAuthors(int count) {
+        // новый жанр записывается до flush, как это делает BookService
+        genres.resolve(BookData.DEFAULT_ENTITY.getGenre());
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Author author = entityManager.persist(AuthorData.entity()
+                    .withId(null)
+                    .withVersion(null)
+                    .withName("Author " + i)
+                    .build());
+            books.add(entityManager.persist(BookData.entity()
+                    .withId(null)
+                    .withVersion(null)
+                    .withTitle("Title " + i)
+                    .withAuthor(author)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return books;
+    }
+}
@@ -1,14 +1,33 @@
 package org.example.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.example.dto.mapper.BookMapper;
+import org.example.dto.request.BookPatchRequest;
 import org.example.dto.request.BookRequest;
 import org.example.dto.request.BookUpdateRequest;
+import org.example.dto.response.BookBatchResponse;
+import org.example.dto.response.BookResponse;
+import org.example.dto.response.MultiGetResponse;
+import org.example.dto.response.pagination.CursorPage;
 import org.example.entity.Author;
 import org.example.entity.Book;
 import org.example.exception.AuthorNotFoundException;
 import org.example.exception.BookNotFoundException;
+import org.example.exception.BookVersionMismatchException;
+import org.example.exception.InvalidCursorException;
 import org.example.repository.AuthorRepository;
+import org.example.repository.BookChanges;
+import org.example.repository.BookCursor;
+import org.example.repository.BookFilter;
 import org.example.repository.BookRepository;
+import org.example.repository.BookSort;
+import org.example.repository.BookState;
+import org.example.repository.BookVersion;
+import org.example.repository.DeletedBook;
+import org.example.search.BookDocument;
+import org.example.search.BookSearchIndex;
+import org.example.search.BooksChangedEvent;
 import org.example.utils.data.AuthorData;
 import org.example.utils.data.BookData;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +37,16 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -38,6 +64,21 @@ public class BookServiceTest {
     @Mock
     BookMapper bookMapper;
 
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    Validator validator;
+
+    @Mock
+    BookSearchIndex searchIndex;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    GenreDictionary genres;
+
     @InjectMocks
     BookService bookService;
 
@@ -47,9 +88,11 @@ public class BookServiceTest {
         BookRequest request = BookData.DEFAULT_REQUEST;
         Book mapped = BookData.entity().withId(null).build();
         Author author = AuthorData.DEFAULT_ENTITY;
+        String genre = new String("Unknown");
 
         when(bookMapper.requestToEntity(request)).thenReturn(mapped);
         when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(genres.resolve("Unknown")).thenReturn(genre);
         when(bookRepository.save(mapped)).thenAnswer(invocation -> {
             Book b = invocation.getArgument(0);
             b.setId(1L);
@@ -62,13 +105,17 @@ public class BookServiceTest {
         assertEquals("Title", result.getTitle());
         assertSame(author, result.getAuthor());
         assertEquals(1970, result.getPublishedYear());
-        assertEquals("Unknown", result.getGenre());
+        assertSame(genre, result.getGenre());
 
         InOrder inOrder = inOrder(bookMapper, authorRepository, bookRepository);
         inOrder.verify(bookMapper).requestToEntity(request);
         inOrder.verify(authorRepository).findById(1L);
         inOrder.verify(bookRepository).save(mapped);
+        inOrder.verify(authorRepository).refreshBookStats(Set.of(1L));
         inOrder.verifyNoMoreInteractions();
+        verify(eventPublisher).publishEvent(BooksChangedEvent.indexed(List.of(
+                new BookDocument(1L, "Title", "Unknown", author.getName())
+        )));
     }
 
     @Test
@@ -90,6 +137,7 @@ public class BookServiceTest {
         verify(bookMapper).requestToEntity(request);
         verify(authorRepository).findById(illegalId);
         verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(genres);
     }
 
     @Test
@@ -102,13 +150,188 @@ public class BookServiceTest {
                 BookData.entity().withId(3L).withTitle("Who").withAuthor(author).withPublishedYear(2077).withGenre("Sci-Fi").build()
         );
 
-        when(bookRepository.findAll()).thenReturn(expected);
+        when(bookRepository.findAllWithAuthor()).thenReturn(expected);
         List<Book> result = bookService.getList();
 
         assertEquals(expected, result);
         assertIterableEquals(expected, result);
 
-        verify(bookRepository).findAll();
+        verify(bookRepository).findAllWithAuthor();
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("createBatch: создает валидные книги и сообщает причину отказа для остальных")
+    void createBatch_mixedRequests_reportsPerItemResults() {
+        BookRequest valid = BookData.request().withTitle("New").build();
+        BookRequest missingAuthor = BookData.request().withTitle("Orphan").withAuthorId(42L).build();
+        BookRequest takenTitle = BookData.request().withTitle("Taken").build();
+        BookRequest duplicate = BookData.request().withTitle("New").build();
+        List<BookRequest> requests = List.of(valid, missingAuthor, takenTitle, duplicate);
+        Author author = AuthorData.DEFAULT_ENTITY;
+        Book mapped = BookData.entity().withId(null).withTitle("New").build();
+        BookResponse response = BookData.response().withTitle("New").build();
+
+        when(validator.validate(any(BookRequest.class))).thenReturn(Set.of());
+        when(authorRepository.findAllById(Set.of(1L, 42L))).thenReturn(List.of(author));
+        when(bookRepository.findExistingTitles(Set.of("New", "Orphan", "Taken"))).thenReturn(Set.of("Taken"));
+        when(bookMapper.requestToEntity(valid)).thenReturn(mapped);
+        when(bookMapper.entityToResponse(mapped)).thenReturn(response);
+        when(genres.resolve("Unknown")).thenReturn("Unknown");
+        when(bookRepository.saveAll(List.of(mapped))).thenAnswer(invocation -> {
+            mapped.setId(10L);
+            return List.of(mapped);
+        });
+
+        BookBatchResponse result = bookService.createBatch(requests);
+
+        assertEquals(1, result.created());
+        assertEquals(3, result.failed());
+        assertEquals("201 CREATED", result.items().get(0).code());
+        assertSame(response, result.items().get(0).book());
+        assertEquals("404 NOT_FOUND", result.items().get(1).code());
+        assertEquals("409 CONFLICT", result.items().get(2).code());
+        assertEquals("409 CONFLICT", result.items().get(3).code());
+        assertSame(author, mapped.getAuthor());
+
+        verify(bookRepository).saveAll(List.of(mapped));
+        verify(bookRepository).flush();
+        verify(authorRepository).refreshBookStats(Set.of(1L));
+        verify(genres).resolve("Unknown");
+    }
+
+    @Test
+    @DisplayName("exportAll: передаёт книги потребителю в порядке курсора и закрывает поток")
+    void exportAll_passesEveryBookToConsumer() {
+        Book first = BookData.entity().withId(1L).build();
+        Book second = BookData.entity().withId(2L).withTitle("Book").build();
+        List<Book> exported = new ArrayList<>();
+        boolean[] closed = {false};
+
+        when(bookRepository.streamAllWithAuthor())
+                .thenReturn(Stream.of(first, second).onClose(() -> closed[0] = true));
+
+        bookService.exportAll(exported::add);
+
+        assertIterableEquals(List.of(first, second), exported);
+        assertTrue(closed[0]);
+        verify(bookRepository).streamAllWithAuthor();
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("getSlice: если книг больше лимита, возвращает курсор на последнюю выданную")
+    void getSlice_whenMoreThanLimit_returnsNextCursor() {
+        Book first = BookData.entity().withId(1L).build();
+        Book second = BookData.entity().withId(2L).withTitle("Book").build();
+        Book extra = BookData.entity().withId(3L).withTitle("Who").build();
+
+        when(bookRepository.findNextSlice(BookSort.ID, BookFilter.NONE, null, 3)).thenReturn(List.of(first, second, extra));
+
+        CursorPage<Book> result = bookService.getSlice(null, null, BookFilter.NONE, 2);
+
+        assertIterableEquals(List.of(first, second), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(2L, BookCursor.decode(result.nextCursor()).id());
+
+        verify(bookRepository).findNextSlice(BookSort.ID, BookFilter.NONE, null, 3);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getSlice: продолжает выборку с позиции курсора в его порядке сортировки")
+    void getSlice_withCursor_continuesAfterCursor() {
+        BookCursor cursor = new BookCursor(BookSort.YEAR, 1970, 1L);
+        Book next = BookData.entity().withId(5L).withPublishedYear(1980).build();
+
+        when(bookRepository.findNextSlice(BookSort.YEAR, BookFilter.NONE, cursor, 11)).thenReturn(List.of(next));
+
+        CursorPage<Book> result = bookService.getSlice(cursor.encode(), null, BookFilter.NONE, 10);
+
+        assertIterableEquals(List.of(next), result.content());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+
+        verify(bookRepository).findNextSlice(BookSort.YEAR, BookFilter.NONE, cursor, 11);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getSlice: если сортировка не совпадает с курсором, бросает InvalidCursorException")
+    void getSlice_whenSortDiffersFromCursor_throwsInvalidCursorException() {
+        String cursor = new BookCursor(BookSort.TITLE, "Title", 1L).encode();
+
+        assertThatThrownBy(() -> bookService.getSlice(cursor, BookSort.YEAR, BookFilter.NONE, 10))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getSlice: при повреждённом курсоре бросает InvalidCursorException")
+    void getSlice_whenCursorMalformed_throwsInvalidCursorException() {
+        assertThatThrownBy(() -> bookService.getSlice("not-a-cursor", null, BookFilter.NONE, 10))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getSlice: по жанру, которого нет в справочнике, возвращает пустую порцию без запроса")
+    void getSlice_whenGenreUnknown_returnsEmptyWithoutQuery() {
+        BookFilter filter = new BookFilter("Nonexistent", null, null, null);
+        when(genres.find("Nonexistent")).thenReturn(Optional.empty());
+
+        CursorPage<Book> result = bookService.getSlice(null, null, filter, 10);
+
+        assertThat(result.content()).isEmpty();
+        assertFalse(result.hasNext());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("search: возвращает книги в порядке релевантности из индекса одним запросом к базе")
+    void search_returnsBooksInIndexOrder() {
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        Book first = BookData.entity().withId(3L).build();
+        Book second = BookData.entity().withId(1L).build();
+        when(searchIndex.search("title", pageRequest))
+                .thenReturn(new PageImpl<>(List.of(3L, 2L, 1L), pageRequest, 7));
+        when(bookRepository.findAllWithAuthorByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(second, first));
+
+        Page<Book> result = bookService.search("title", pageRequest);
+
+        assertIterableEquals(List.of(first, second), result.getContent());
+        assertEquals(7, result.getTotalElements());
+        verify(bookRepository).findAllWithAuthorByIdIn(List.of(3L, 2L, 1L));
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("search: если ничего не найдено, не обращается к базе")
+    void search_whenNoHits_doesNotQueryRepository() {
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        when(searchIndex.search("missing", pageRequest)).thenReturn(Page.empty(pageRequest));
+
+        Page<Book> result = bookService.search("missing", pageRequest);
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getByIds: одним запросом, в порядке запроса, без повторов и со списком ненайденных")
+    void getByIds_returnsBooksInRequestOrderAndMissingIds() {
+        Book first = BookData.entity().withId(3L).build();
+        Book second = BookData.entity().withId(1L).build();
+        when(bookRepository.findAllWithAuthorByIdIn(Set.of(3L, 2L, 1L))).thenReturn(List.of(second, first));
+
+        MultiGetResponse<Book> result = bookService.getByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertIterableEquals(List.of(first, second), result.content());
+        assertIterableEquals(List.of(2L), result.missing());
+        verify(bookRepository).findAllWithAuthorByIdIn(Set.of(3L, 2L, 1L));
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -118,12 +341,55 @@ public class BookServiceTest {
         Long id = 1L;
         Book expected = BookData.DEFAULT_ENTITY;
 
-        when(bookRepository.findById(id)).thenReturn(Optional.of(expected));
+        when(bookRepository.findWithAuthorById(id)).thenReturn(Optional.of(expected));
         Book result = bookService.getById(id);
 
         assertEquals(expected, result);
 
-        verify(bookRepository).findById(id);
+        verify(bookRepository).findWithAuthorById(id);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getVersion: возвращает версии книги и автора, не загружая сущности")
+    void getVersion_whenExists_returnsVersions() {
+        Long id = 1L;
+        BookVersion version = new BookVersion(3L, 7L);
+
+        when(bookRepository.findVersionById(id)).thenReturn(Optional.of(version));
+
+        assertEquals(version, bookService.getVersion(id));
+
+        verify(bookRepository).findVersionById(id);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("getVersion: если книги нет, бросает BookNotFoundException")
+    void getVersion_whenNotExists_throwsBookNotFoundException() {
+        Long id = 42L;
+
+        when(bookRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.getVersion(id))
+                .isInstanceOf(BookNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("getResponseById: возвращает книгу, преобразованную в ответ, с версиями из той же сущности")
+    void getResponseById_whenExists_returnsMappedResponse() {
+        Long id = 1L;
+        Book entity = BookData.DEFAULT_ENTITY;
+        BookResponse response = BookData.DEFAULT_RESPONSE;
+
+        when(bookRepository.findWithAuthorById(id)).thenReturn(Optional.of(entity));
+        when(bookMapper.entityToResponse(entity)).thenReturn(response);
+
+        Versioned<BookResponse, BookVersion> result = bookService.getResponseById(id);
+
+        assertSame(response, result.body());
+        assertEquals(BookVersion.of(entity), result.version());
+        verify(bookRepository).findWithAuthorById(id);
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -132,13 +398,13 @@ public class BookServiceTest {
     void getById_whenNotExists_throwsBookNotFoundException() {
         Long id = 42L;
 
-        when(bookRepository.findById(id)).thenReturn(Optional.empty());
+        when(bookRepository.findWithAuthorById(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bookService.getById(id))
                 .isInstanceOf(BookNotFoundException.class)
                 .hasMessageContaining(String.valueOf(id));
 
-        verify(bookRepository).findById(id);
+        verify(bookRepository).findWithAuthorById(id);
         verifyNoMoreInteractions(bookRepository);
     }
 
@@ -178,6 +444,7 @@ public class BookServiceTest {
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(existing));
         when(authorRepository.findById(newAuthor.getId())).thenReturn(Optional.of(newAuthor));
+        when(genres.resolve("New Genre")).thenReturn("New Genre");
         when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Book result = bookService.update(bookId, request);
@@ -192,7 +459,104 @@ public class BookServiceTest {
         inOrder.verify(bookRepository).findById(bookId);
         inOrder.verify(authorRepository).findById(newAuthorId);
         inOrder.verify(bookRepository).save(existing);
+        inOrder.verify(authorRepository).refreshBookStats(Set.of(oldAuthorId, newAuthorId));
         inOrder.verifyNoMoreInteractions();
+        verify(eventPublisher).publishEvent(new AuthorStatsChangedEvent(Set.of(oldAuthorId, newAuthorId)));
+    }
+
+    @Test
+    @DisplayName("patch: название меняется одним UPDATE с проверкой версии, без чтения книги и пересчёта агрегатов")
+    void patch_titleOnly_updatesWithoutReadingBook() {
+        BookPatchRequest request = new BookPatchRequest("New Title", null, null, null);
+        Book updated = BookData.entity().withTitle("New Title").withVersion(4L).build();
+        when(bookRepository.updateIfVersion(1L, 3L, new BookChanges("New Title", null, null, null))).thenReturn(1);
+        when(bookRepository.findWithAuthorById(1L)).thenReturn(Optional.of(updated));
+
+        Book result = bookService.patch(1L, 3L, request);
+
+        assertSame(updated, result);
+        verify(bookRepository, never()).findStateById(any());
+        verify(authorRepository, never()).refreshBookStats(any());
+        verify(eventPublisher, never()).publishEvent(any(CatalogChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(AuthorStatsChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("patch: при смене автора подставляет ссылку без загрузки и пересчитывает агрегаты обоих авторов")
+    void patch_authorChanged_usesReferenceAndRefreshesStats() {
+        BookPatchRequest request = new BookPatchRequest(null, 2L, null, null);
+        Author newAuthor = AuthorData.entity().withId(2L).build();
+        Book updated = BookData.entity().withAuthor(newAuthor).build();
+        when(bookRepository.findStateById(1L)).thenReturn(Optional.of(new BookState(1L, "Unknown", 1970)));
+        when(authorRepository.getReferenceById(2L)).thenReturn(newAuthor);
+        when(bookRepository.updateIfVersion(1L, 3L, new BookChanges(null, newAuthor, null, null))).thenReturn(1);
+        when(bookRepository.findWithAuthorById(1L)).thenReturn(Optional.of(updated));
+
+        bookService.patch(1L, 3L, request);
+
+        verify(authorRepository, never()).findById(any());
+        verify(authorRepository).refreshBookStats(Set.of(1L, 2L));
+        verify(eventPublisher).publishEvent(new AuthorStatsChangedEvent(Set.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("patch: если версия уже другая, бросает BookVersionMismatchException")
+    void patch_whenVersionChanged_throwsVersionMismatch() {
+        BookPatchRequest request = new BookPatchRequest("New Title", null, null, null);
+        when(bookRepository.updateIfVersion(eq(1L), eq(3L), any(BookChanges.class))).thenReturn(0);
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(new BookVersion(4L, 0L)));
+
+        assertThatThrownBy(() -> bookService.patch(1L, 3L, request))
+                .isInstanceOf(BookVersionMismatchException.class);
+
+        verify(bookRepository, never()).findWithAuthorById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("patch: при устаревшей версии новый жанр не добавляется в справочник")
+    void patch_newGenreWithStaleVersion_doesNotInsertGenre() {
+        BookPatchRequest request = new BookPatchRequest(null, null, null, "New Genre");
+        when(bookRepository.findStateById(1L)).thenReturn(Optional.of(new BookState(1L, "Unknown", 1970)));
+        when(genres.find("New Genre")).thenReturn(Optional.empty());
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(new BookVersion(4L, 0L)));
+
+        assertThatThrownBy(() -> bookService.patch(1L, 3L, request))
+                .isInstanceOf(BookVersionMismatchException.class);
+
+        verify(genres, never()).resolve(any());
+        verify(bookRepository, never()).updateIfVersion(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("patch: новый жанр добавляется в справочник после проверки версии")
+    void patch_newGenre_resolvesAfterVersionCheck() {
+        BookPatchRequest request = new BookPatchRequest(null, null, null, "New Genre");
+        Book updated = BookData.entity().withGenre("New Genre").build();
+        when(bookRepository.findStateById(1L)).thenReturn(Optional.of(new BookState(1L, "Unknown", 1970)));
+        when(genres.find("New Genre")).thenReturn(Optional.empty());
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(new BookVersion(3L, 0L)));
+        when(genres.resolve("New Genre")).thenReturn("New Genre");
+        when(bookRepository.updateIfVersion(1L, 3L, new BookChanges(null, null, null, "New Genre"))).thenReturn(1);
+        when(bookRepository.findWithAuthorById(1L)).thenReturn(Optional.of(updated));
+
+        bookService.patch(1L, 3L, request);
+
+        InOrder inOrder = inOrder(bookRepository, genres);
+        inOrder.verify(bookRepository).findVersionById(1L);
+        inOrder.verify(genres).resolve("New Genre");
+        inOrder.verify(bookRepository).updateIfVersion(1L, 3L, new BookChanges(null, null, null, "New Genre"));
+    }
+
+    @Test
+    @DisplayName("patch: если книги нет, бросает BookNotFoundException")
+    void patch_whenBookMissing_throwsBookNotFound() {
+        BookPatchRequest request = new BookPatchRequest("New Title", null, null, null);
+        when(bookRepository.updateIfVersion(eq(42L), eq(3L), any(BookChanges.class))).thenReturn(0);
+        when(bookRepository.findVersionById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.patch(42L, 3L, request))
+                .isInstanceOf(BookNotFoundException.class);
     }
 
     @Test
@@ -212,16 +576,83 @@ public class BookServiceTest {
     }
 
     @Test
-    @DisplayName("deleteById: удаляет существующую книгу и возвращает true")
+    @DisplayName("deleteById: удаляет книгу одной командой без чтения и возвращает true")
     void deleteById_whenExists_deleteAndReturnsTrue() {
         Long id = 42L;
-        when(bookRepository.existsById(id)).thenReturn(true);
+        short genreId = 1;
+        when(bookRepository.deleteReturning(List.of(id), null, null))
+                .thenReturn(List.of(new DeletedBook(id, 1L, genreId, 1970)));
+        when(genres.nameOf(genreId)).thenReturn("Unknown");
 
         boolean result = bookService.deleteById(id);
 
         assertThat(result).isTrue();
-        InOrder inOrder = inOrder(bookRepository);
-        inOrder.verify(bookRepository).existsById(id);
-        inOrder.verify(bookRepository).deleteById(id);
+        verify(bookRepository, never()).findById(any());
+        verify(authorRepository).refreshBookStats(Set.of(1L));
+        verify(eventPublisher).publishEvent(BooksChangedEvent.removed(id));
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.removed(new CatalogChangedEvent.Facet("Unknown", 1970)));
+    }
+
+    @Test
+    @DisplayName("deleteById: если книги нет, возвращает false без пересчёта агрегатов")
+    void deleteById_whenMissing_returnsFalse() {
+        when(bookRepository.deleteReturning(List.of(42L), null, null)).thenReturn(List.of());
+
+        assertThat(bookService.deleteById(42L)).isFalse();
+
+        verifyNoInteractions(authorRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("deleteMatching: удаляет книги автора и жанра одной командой и пересчитывает агрегаты один раз")
+    void deleteMatching_byAuthorAndGenre_deletesInOneStatement() {
+        short genreId = 3;
+        when(genres.find("Drama")).thenReturn(Optional.of(genreId));
+        when(genres.nameOf(genreId)).thenReturn("Drama");
+        when(bookRepository.deleteReturning(null, 1L, genreId)).thenReturn(List.of(
+                new DeletedBook(5L, 1L, genreId, 1900),
+                new DeletedBook(6L, 1L, genreId, 1910)
+        ));
+
+        int deleted = bookService.deleteMatching(null, 1L, "Drama");
+
+        assertEquals(2, deleted);
+        verify(authorRepository).refreshBookStats(Set.of(1L));
+        verify(eventPublisher).publishEvent(BooksChangedEvent.removed(List.of(5L, 6L)));
+    }
+
+    @Test
+    @DisplayName("deleteMatching: по неизвестному жанру ничего не удаляет и не обращается к базе")
+    void deleteMatching_whenGenreUnknown_deletesNothing() {
+        when(genres.find("Nonexistent")).thenReturn(Optional.empty());
+
+        assertEquals(0, bookService.deleteMatching(null, null, "Nonexistent"));
+
+        verifyNoInteractions(bookRepository, authorRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("getSliceByAuthor: порция книг с фильтром по автору")
+    void getSliceByAuthor_whenAuthorExists_filtersByAuthor() {
+        Book book = BookData.DEFAULT_ENTITY;
+        BookFilter filter = new BookFilter(null, null, null, 1L);
+        when(authorRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findNextSlice(BookSort.YEAR, filter, null, 11)).thenReturn(List.of(book));
+
+        CursorPage<Book> result = bookService.getSliceByAuthor(1L, null, BookSort.YEAR, 10);
+
+        assertIterableEquals(List.of(book), result.content());
+        assertFalse(result.hasNext());
+        verify(bookRepository).findNextSlice(BookSort.YEAR, filter, null, 11);
+    }
+
+    @Test
+    @DisplayName("getSliceByAuthor: для несуществующего автора бросает AuthorNotFoundException")
+    void getSliceByAuthor_whenAuthorMissing_throwsAuthorNotFoundException() {
+        when(authorRepository.existsById(42L)).thenReturn(false);
+
+        assertThrows(AuthorNotFoundException.class, () -> bookService.getSliceByAuthor(42L, null, null, 10));
+
+        verifyNoInteractions(bookRepository);
     }
 }
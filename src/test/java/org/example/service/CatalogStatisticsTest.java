@@ -0,0 +1,102 @@
+package org.example.service;
+
+import org.example.dto.response.CatalogStatisticsResponse;
+import org.example.repository.BookRepository;
+import org.example.repository.GenreCount;
+import org.example.repository.YearCount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogStatisticsTest {
+
+    @Mock
+    private BookRepository repository;
+
+    @InjectMocks
+    private CatalogStatistics statistics;
+
+    @Test
+    @DisplayName("get: считает по таблице один раз, дальше сдвигает счётчики по событиям")
+    void get_countsOnceThenAppliesEvents() {
+        when(repository.countByGenre()).thenReturn(List.of(new GenreCount("Novel", 2)));
+        when(repository.countByYear()).thenReturn(List.of(new YearCount(1869, 2)));
+
+        assertEquals(new CatalogStatisticsResponse(2, Map.of("Novel", 2L), Map.of(1869, 2L)), statistics.get());
+
+        statistics.onCatalogChanged(CatalogChangedEvent.changed(
+                new CatalogChangedEvent.Facet("Novel", 1869),
+                new CatalogChangedEvent.Facet("Poetry", 1869)));
+        statistics.onCatalogChanged(CatalogChangedEvent.removed(new CatalogChangedEvent.Facet("Novel", 1869)));
+
+        assertEquals(new CatalogStatisticsResponse(1, Map.of("Poetry", 1L), Map.of(1869, 1L)), statistics.get());
+        verify(repository, times(1)).countByGenre();
+        verify(repository, times(1)).countByYear();
+    }
+
+    @Test
+    @DisplayName("onCatalogChanged: до первого подсчёта событие пропускается, его учтёт сам подсчёт")
+    void onCatalogChanged_beforeFirstCount_isCoveredByCount() {
+        statistics.onCatalogChanged(CatalogChangedEvent.removed(new CatalogChangedEvent.Facet("Novel", 1869)));
+        when(repository.countByGenre()).thenReturn(List.of());
+        when(repository.countByYear()).thenReturn(List.of());
+
+        assertEquals(new CatalogStatisticsResponse(0, Map.of(), Map.of()), statistics.get());
+    }
+
+    @Test
+    @DisplayName("reconcile: заменяет разошедшиеся счётчики подсчётом по таблице")
+    void reconcile_replacesDriftedCounters() {
+        when(repository.countByGenre())
+                .thenReturn(List.of(new GenreCount("Novel", 2)))
+                .thenReturn(List.of(new GenreCount("Novel", 5)));
+        when(repository.countByYear())
+                .thenReturn(List.of(new YearCount(1869, 2)))
+                .thenReturn(List.of(new YearCount(1869, 5)));
+        statistics.get();
+
+        statistics.reconcile();
+
+        assertEquals(new CatalogStatisticsResponse(5, Map.of("Novel", 5L), Map.of(1869, 5L)), statistics.get());
+    }
+
+    @Test
+    @DisplayName("reconcile: событие, пришедшее после снимка таблицы, применяется к новым счётчикам")
+    void reconcile_replaysEventsArrivingDuringCount() {
+        when(repository.countByGenre())
+                .thenReturn(List.of(new GenreCount("Novel", 2)))
+                .thenReturn(List.of(new GenreCount("Novel", 2)));
+        when(repository.countByYear())
+                .thenReturn(List.of(new YearCount(1869, 2)))
+                .thenAnswer(invocation -> {
+                    // книга добавлена после того, как таблица уже посчитана
+                    statistics.onCatalogChanged(new CatalogChangedEvent(
+                            List.of(new CatalogChangedEvent.Facet("Poetry", 1869)), List.of()));
+                    return List.of(new YearCount(1869, 2));
+                });
+        statistics.get();
+
+        statistics.reconcile();
+
+        assertEquals(new CatalogStatisticsResponse(3, Map.of("Novel", 2L, "Poetry", 1L), Map.of(1869, 3L)),
+                statistics.get());
+    }
+
+    @Test
+    @DisplayName("reconcile: пока статистику не запрашивали, к базе не обращается")
+    void reconcile_beforeFirstRead_doesNothing() {
+        statistics.reconcile();
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import org.example.repository.GenreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Новый жанр вставляется в транзакции вызывающего, поэтому каждый сценарий управляет транзакциями сам.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(GenreDictionary.class)
+class GenreDictionaryTest {
+
+    @Autowired
+    GenreDictionary genres;
+
+    @Autowired
+    GenreRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("idOf: жанр из откатившейся транзакции не попадает ни в таблицу, ни в справочник")
+    void idOf_whenTransactionRollsBack_forgetsGenre() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        assertThrows(IllegalStateException.class, () -> tx.executeWithoutResult(status -> {
+            Short id = genres.idOf("Поэзия");
+            assertThat(genres.idOf("Поэзия")).isEqualTo(id);
+            assertThat(genres.nameOf(id)).isEqualTo("Поэзия");
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertThat(genres.find("Поэзия")).isEmpty();
+        assertThat(repository.findByName("Поэзия")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("idOf: до фиксации новый жанр виден только своей транзакции, после — всем")
+    void idOf_publishesGenreAfterCommit() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Short id = tx.execute(status -> {
+            Short inserted = genres.idOf("Драма");
+            assertThat(genres.find("Драма")).contains(inserted);
+            assertThat(CompletableFuture.supplyAsync(() -> genres.find("Драма")).join()).isEmpty();
+            return inserted;
+        });
+
+        assertThat(genres.find("Драма")).contains(id);
+        assertThat(genres.resolve("Драма")).isSameAs(genres.nameOf(id));
+    }
+
+    @Test
+    @DisplayName("idOf: жанр, уже вставленный другим экземпляром, берётся из таблицы после нарушения уникальности")
+    void idOf_whenInsertedConcurrently_reselectsExistingGenre() {
+        genres.load();
+        Short existing = repository.insert("Сказка").getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Short id = tx.execute(status -> genres.idOf("Сказка"));
+
+        assertThat(id).isEqualTo(existing);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.example.config.CacheConfig;
+import org.example.dto.mapper.AuthorMapperImpl;
+import org.example.dto.mapper.BookMapperImpl;
+import org.example.dto.request.BookPatchRequest;
+import org.example.entity.Book;
+import org.example.repository.AuthorRepository;
+import org.example.repository.BookRepository;
+import org.example.repository.DeletedBook;
+import org.example.search.BookSearchIndex;
+import org.example.utils.data.AuthorData;
+import org.example.utils.data.BookData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Кэш ответов по id через настоящий прокси {@link CacheConfig}: ключи {@code @Cacheable} и {@code @CacheEvict}
+ * и сброс авторов по {@link AuthorStatsChangedEvent}.
+ */
+@SpringJUnitConfig({CacheConfig.class, ServiceCacheTest.Caches.class, BookService.class, AuthorService.class,
+        AuthorCacheEvictor.class, BookMapperImpl.class, AuthorMapperImpl.class})
+class ServiceCacheTest {
+
+    @Configuration
+    static class Caches {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.BOOKS, CacheConfig.AUTHORS);
+        }
+    }
+
+    @MockitoBean
+    BookRepository bookRepository;
+    @MockitoBean
+    AuthorRepository authorRepository;
+    @MockitoBean
+    EntityManager entityManager;
+    @MockitoBean
+    Validator validator;
+    @MockitoBean
+    BookSearchIndex searchIndex;
+    @MockitoBean
+    GenreDictionary genres;
+    @MockitoBean
+    AuthorCounter authorCounter;
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    AuthorService authorService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    Book book;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        book = BookData.entity().build();
+        when(bookRepository.findWithAuthorById(book.getId())).thenReturn(Optional.of(book));
+        when(authorRepository.findById(AuthorData.DEFAULT_ENTITY.getId())).thenReturn(Optional.of(AuthorData.DEFAULT_ENTITY));
+        when(genres.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("getResponseById: повторный запрос книги не обращается к репозиторию")
+    void bookResponse_isReadOnce() {
+        bookService.getResponseById(book.getId());
+        bookService.getResponseById(book.getId());
+
+        verify(bookRepository, times(1)).findWithAuthorById(book.getId());
+    }
+
+    @Test
+    @DisplayName("update: сбрасывает закэшированную книгу")
+    void update_evictsBook() {
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+        bookService.getResponseById(book.getId());
+
+        bookService.update(book.getId(), BookData.DEFAULT_UPDATE_REQUEST);
+        bookService.getResponseById(book.getId());
+
+        verify(bookRepository, times(2)).findWithAuthorById(book.getId());
+    }
+
+    @Test
+    @DisplayName("patch: сбрасывает закэшированную книгу")
+    void patch_evictsBook() {
+        when(bookRepository.updateIfVersion(eq(book.getId()), isNull(), any())).thenReturn(1);
+        bookService.getResponseById(book.getId());
+
+        bookService.patch(book.getId(), null, new BookPatchRequest("Patched", null, null, null));
+        clearInvocations(bookRepository);
+        bookService.getResponseById(book.getId());
+
+        verify(bookRepository).findWithAuthorById(book.getId());
+    }
+
+    @Test
+    @DisplayName("deleteById: сбрасывает закэшированную книгу")
+    void deleteById_evictsBook() {
+        when(bookRepository.deleteReturning(List.of(book.getId()), null, null)).thenReturn(List.of(
+                new DeletedBook(book.getId(), AuthorData.DEFAULT_ENTITY.getId(), (short) 1, book.getPublishedYear())));
+        bookService.getResponseById(book.getId());
+
+        bookService.deleteById(book.getId());
+        bookService.getResponseById(book.getId());
+
+        verify(bookRepository, times(2)).findWithAuthorById(book.getId());
+    }
+
+    @Test
+    @DisplayName("getResponseById: повторный запрос автора не обращается к репозиторию")
+    void authorResponse_isReadOnce() {
+        Long id = AuthorData.DEFAULT_ENTITY.getId();
+
+        authorService.getResponseById(id);
+        authorService.getResponseById(id);
+
+        verify(authorRepository, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("create: сбрасывает закэшированного автора книги, остальные авторы остаются в кэше")
+    void createBook_evictsOnlyItsAuthor() {
+        Long id = AuthorData.DEFAULT_ENTITY.getId();
+        Long otherId = id + 1;
+        when(authorRepository.findById(otherId)).thenReturn(Optional.of(AuthorData.entity().withId(otherId).build()));
+        when(bookRepository.save(any())).thenAnswer(invocation -> {
+            Book saved = invocation.getArgument(0);
+            saved.setId(book.getId());
+            return saved;
+        });
+        authorService.getResponseById(id);
+        authorService.getResponseById(otherId);
+
+        bookService.create(BookData.DEFAULT_REQUEST);
+        clearInvocations(authorRepository);
+        authorService.getResponseById(id);
+        authorService.getResponseById(otherId);
+
+        verify(authorRepository).findById(id);
+        verify(authorRepository, never()).findById(otherId);
+    }
+
+    @Test
+    @DisplayName("update: при смене автора сбрасывает прежнего и нового автора, остальные остаются в кэше")
+    void updateBook_evictsPreviousAndNewAuthor() {
+        Long previousId = AuthorData.DEFAULT_ENTITY.getId();
+        Long newId = previousId + 1;
+        Long otherId = previousId + 2;
+        when(authorRepository.findById(newId)).thenReturn(Optional.of(AuthorData.entity().withId(newId).build()));
+        when(authorRepository.findById(otherId)).thenReturn(Optional.of(AuthorData.entity().withId(otherId).build()));
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+        authorService.getResponseById(previousId);
+        authorService.getResponseById(newId);
+        authorService.getResponseById(otherId);
+
+        bookService.update(book.getId(), BookData.updateRequest().withAuthorId(newId).build());
+        clearInvocations(authorRepository);
+        authorService.getResponseById(previousId);
+        authorService.getResponseById(newId);
+        authorService.getResponseById(otherId);
+
+        verify(authorRepository).findById(previousId);
+        verify(authorRepository).findById(newId);
+        verify(authorRepository, never()).findById(otherId);
+    }
+}
@@ -2,6 +2,7 @@ package org.example.utils.data;
 
 import org.example.dto.request.AuthorRequest;
 import org.example.dto.response.AuthorResponse;
+import org.example.dto.response.AuthorStatsResponse;
 import org.example.entity.Author;
 
 public class AuthorData {
@@ -25,9 +26,16 @@ public class AuthorData {
     }
 
     public static class AuthorEntityBuilder extends BaseAuthorBuilder<AuthorEntityBuilder> {
+        private Long version = 0L;
+
         private AuthorEntityBuilder() {
         }
 
+        public AuthorEntityBuilder withVersion(Long version) {
+            this.version = version;
+            return self();
+        }
+
         @Override
         protected AuthorEntityBuilder self() {
             return this;
@@ -36,6 +44,7 @@ public class AuthorData {
         public Author build() {
             Author a = new Author();
             a.setId(id);
+            a.setVersion(version);
             a.setName(name);
             a.setBirthYear(birthYear);
             return a;
@@ -57,16 +66,23 @@ public class AuthorData {
     }
 
     public static class AuthorResponseBuilder extends BaseAuthorBuilder<AuthorResponseBuilder> {
+        private AuthorStatsResponse stats;
+
         private AuthorResponseBuilder() {
         }
 
+        public AuthorResponseBuilder withStats(AuthorStatsResponse stats) {
+            this.stats = stats;
+            return self();
+        }
+
         @Override
         protected AuthorResponseBuilder self() {
             return this;
         }
 
         public AuthorResponse build() {
-            return new AuthorResponse(id, name, birthYear);
+            return new AuthorResponse(id, name, birthYear, stats);
         }
     }
 }
@@ -34,6 +34,7 @@ public class BookData {
 
     public static class BookEntityBuilder extends BaseBookBuilder<BookEntityBuilder> {
         private Long id = 1L;
+        private Long version = 0L;
         private Author author = AuthorData.DEFAULT_ENTITY;
 
         private BookEntityBuilder() {
@@ -44,6 +45,11 @@ public class BookData {
             return this;
         }
 
+        public BookEntityBuilder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public BookEntityBuilder withAuthor(Author author) {
             this.author = author;
             return this;
@@ -57,6 +63,7 @@ public class BookData {
         public Book build() {
             Book b = new Book();
             b.setId(id);
+            b.setVersion(version);
             b.setTitle(title);
             b.setAuthor(author);
             b.setPublishedYear(publishedYear);